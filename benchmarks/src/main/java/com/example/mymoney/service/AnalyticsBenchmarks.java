@@ -0,0 +1,75 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.DateRange;
+import com.example.mymoney.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Window maxima, range totals, the spending graph, allocation and columnar scans, over both the
+ * list-based paths and the per-user indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class AnalyticsBenchmarks {
+    private static final DateRange QUARTER = DateRange.ofQuarter(2020, 2);
+    private static final DateRange ODD_RANGE = DateRange.of(LocalDate.of(2018, 3, 17), LocalDate.of(2021, 9, 4));
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private List<Transaction> transactions;
+    private FenwickIndex fenwickIndex;
+    private ColumnarLedger columnarLedger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+        columnarLedger = BenchmarkData.rows(transactions);
+        fenwickIndex = BenchmarkData.index(FenwickIndex::new, columnarLedger);
+    }
+
+    @Benchmark
+    public double findMaxSpendingInWindow() {
+        return DataService.findMaxSpendingInWindow(transactions, 7);
+    }
+
+    @Benchmark
+    public long fenwickMaxWindow() {
+        return fenwickIndex.maxWindow(Transaction.TransactionType.EXPENSE, 8);
+    }
+
+    @Benchmark
+    public long fenwickRangeTotal() {
+        return fenwickIndex.total(Transaction.TransactionType.EXPENSE, null, ODD_RANGE)
+            + fenwickIndex.total(Transaction.TransactionType.EXPENSE, "Groceries", QUARTER);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> buildSpendingGraph() {
+        return DataService.buildSpendingGraph(transactions);
+    }
+
+    @Benchmark
+    public CoOccurrenceIndex buildCoOccurrenceIndex() {
+        return BenchmarkData.index(CoOccurrenceIndex::new, columnarLedger);
+    }
+
+    @Benchmark
+    public Map<String, Double> optimalBudgetAllocation() {
+        return DataService.optimalBudgetAllocation(transactions, 5000.0);
+    }
+
+    @Benchmark
+    public long[] columnarCategoryTotals() {
+        return columnarLedger.categoryTotals(Transaction.TransactionType.EXPENSE);
+    }
+}
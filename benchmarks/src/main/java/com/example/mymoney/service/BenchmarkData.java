@@ -0,0 +1,59 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Synthetic transaction sets shared by the benchmarks, built with {@link SyntheticLedgerGenerator}.
+ * Generation is seeded, so every run and every fork measures the same rows.
+ */
+final class BenchmarkData {
+    static final long SEED = 42L;
+    static final String USER_ID = "benchmark-user";
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final int YEARS = 10;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * The first {@code rows} transactions of ten-year synthetic histories for as many users as
+     * it takes, shuffled so sorts and index builds do not see pre-sorted input.
+     */
+    static List<Transaction> transactions(int rows) {
+        SyntheticLedgerGenerator generator = new SyntheticLedgerGenerator(SEED);
+        List<Transaction> transactions = new ArrayList<>(rows);
+        for (int user = 0; transactions.size() < rows; user++) {
+            generator.generate(USER_ID + "-" + user, START, YEARS, transaction -> {
+                if (transactions.size() < rows) {
+                    transactions.add(transaction);
+                }
+            });
+        }
+        Collections.shuffle(transactions, new Random(SEED));
+        return transactions;
+    }
+
+    static ColumnarLedger rows(List<Transaction> transactions) {
+        ColumnarLedger rows = new ColumnarLedger(USER_ID);
+        for (Transaction transaction : transactions) {
+            rows.add(transaction);
+        }
+        return rows;
+    }
+
+    static <I extends LedgerIndex> I index(Function<ColumnarLedger, I> factory, ColumnarLedger rows) {
+        I index = factory.apply(rows);
+        for (int docId = 0; docId < rows.size(); docId++) {
+            index.add(docId);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.mymoney.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The budget optimizer behind {@code BudgetService.optimizeBudgetWithDP}, across budget sizes
+ * and granularities. Peso granularity on a large budget is where the memory ceiling kicks in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetBenchmarks {
+
+    @Param({"5000", "100000", "1000000"})
+    public double totalBudget;
+
+    @Param({"0.01", "1.0"})
+    public double granularity;
+
+    @Param({"20"})
+    public int categories;
+
+    private BudgetOptimizer optimizer;
+    private double[] costs;
+    private double[] priorities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        optimizer = new BudgetOptimizer(granularity, BudgetOptimizer.DEFAULT_MEMORY_LIMIT_BYTES);
+        Random random = new Random(BenchmarkData.SEED);
+        costs = new double[categories];
+        priorities = new double[categories];
+        for (int i = 0; i < categories; i++) {
+            // Historical totals around a tenth of the budget each, so roughly half can be funded
+            costs[i] = Math.round(totalBudget / 10 * (0.2 + random.nextDouble() * 1.6) * 100) / 100.0;
+            priorities[i] = 0.5 + random.nextInt(4) * 0.5;
+        }
+    }
+
+    @Benchmark
+    public boolean[] optimize() {
+        return optimizer.optimize(costs, priorities, totalBudget);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List scans against their index-backed replacements: amounts, notes text, fragments, typos
+ * and category prefixes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class SearchBenchmarks {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private List<Transaction> transactions;
+    private List<Transaction> sortedByAmount;
+    private AmountIndex amountIndex;
+    private NotesIndex notesIndex;
+    private TrigramIndex trigramIndex;
+    private CategoryTrie categoryTrie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+        sortedByAmount = DataService.quickSortByAmount(transactions, true);
+        ColumnarLedger rows = BenchmarkData.rows(transactions);
+        amountIndex = BenchmarkData.index(AmountIndex::new, rows);
+        notesIndex = BenchmarkData.index(NotesIndex::new, rows);
+        trigramIndex = BenchmarkData.index(TrigramIndex::new, rows);
+        categoryTrie = BenchmarkData.index(CategoryTrie::new, rows);
+    }
+
+    @Benchmark
+    public List<Transaction> binarySearchByAmount() {
+        return DataService.binarySearchByAmount(sortedByAmount, 150.0, 0.5);
+    }
+
+    @Benchmark
+    public int[] amountIndexBetween() {
+        return amountIndex.between(14_950, 15_050);
+    }
+
+    @Benchmark
+    public int[] amountIndexNearest() {
+        return amountIndex.nearest(15_000, 10);
+    }
+
+    @Benchmark
+    public List<int[]> amountIndexDuplicates() {
+        return amountIndex.duplicateExpenses(3);
+    }
+
+    @Benchmark
+    public List<Transaction> searchInNotesKmp() {
+        return DataService.searchInNotes(transactions, "pharmacy");
+    }
+
+    @Benchmark
+    public int[] notesIndexPhrase() {
+        return notesIndex.search("\"weekly market\"");
+    }
+
+    @Benchmark
+    public int[] trigramSubstring() {
+        return trigramIndex.searchSubstring("armac");
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Match> trigramFuzzy() {
+        return trigramIndex.searchFuzzy("pharmcy", 2, 200);
+    }
+
+    @Benchmark
+    public List<String> categoryPrefixScan() {
+        return DataService.searchCategoriesByPrefix(transactions, "s");
+    }
+
+    @Benchmark
+    public List<String> categoryTriePrefix() {
+        return categoryTrie.complete("s", null, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<String> categoryTrieTopK() {
+        return categoryTrie.complete("s", null, CategoryTrie.TOP_K);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The list sorts and top-N selection behind the Transactions tab's in-memory sorting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class SortBenchmarks {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+    }
+
+    @Benchmark
+    public List<Transaction> quickSortByAmount() {
+        return DataService.quickSortByAmount(transactions, false);
+    }
+
+    @Benchmark
+    public List<Transaction> mergeSortByDate() {
+        return DataService.mergeSortByDate(transactions, false);
+    }
+
+    @Benchmark
+    public List<Transaction> heapSortByCategory() {
+        return DataService.heapSortByCategory(transactions, true);
+    }
+
+    @Benchmark
+    public List<Transaction> topTenByAmount() {
+        return DataService.getTopNTransactionsByAmount(transactions, 10, true);
+    }
+}
@@ -26,8 +26,14 @@ CREATE TABLE `transactions` (
   `transaction_date` DATE NOT NULL,
   `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
-  INDEX `idx_user_date` (`user_id`, `transaction_date`),
-  INDEX `idx_user_type` (`user_id`, `type`)
+  -- Date ranges of one type that are not whole months (whole months come from monthly_rollup)
+  INDEX `idx_user_type_date` (`user_id`, `type`, `transaction_date`),
+  -- Newest-first listing and keyset pagination
+  INDEX `idx_user_date_created` (`user_id`, `transaction_date`, `created_at`, `id`),
+  -- Top/bottom N by amount
+  INDEX `idx_user_amount` (`user_id`, `amount`),
+  -- Listing by category
+  INDEX `idx_user_category` (`user_id`, `category`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 
@@ -52,16 +58,17 @@ CREATE TABLE `overall_budget` (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 
-CREATE INDEX IF NOT EXISTS idx_transactions_user_id 
-ON transactions(user_id);
-
-
-CREATE INDEX IF NOT EXISTS idx_transactions_user_date 
-ON transactions(user_id, transaction_date DESC);
-
-
-CREATE INDEX IF NOT EXISTS idx_transactions_user_type 
-ON transactions(user_id, type);
+-- One row per user, month, type and category; maintained in the same transaction as every insert
+CREATE TABLE `monthly_rollup` (
+  `user_id` VARCHAR(36) NOT NULL,
+  `year_month` DATE NOT NULL,
+  `type` ENUM('INCOME', 'EXPENSE') NOT NULL,
+  `category` VARCHAR(50) NOT NULL,
+  `total` DECIMAL(14, 2) NOT NULL,
+  `count` INT NOT NULL,
+  PRIMARY KEY (`user_id`, `year_month`, `type`, `category`),
+  FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 
 CREATE INDEX IF NOT EXISTS idx_users_username 
@@ -72,8 +79,8 @@ ON budgets(user_id, category);
 
 SELECT 'MyMoney database schema created successfully!' AS Status;
 SELECT 'Database: mymoney_db' AS Database_Name;
-SELECT 'Tables: users, transactions, budgets, overall_budget' AS Tables_Created;
-SELECT 'Indexes: 5 performance indexes added' AS Performance_Optimizations;
+SELECT 'Tables: users, transactions, budgets, overall_budget, monthly_rollup' AS Tables_Created;
+SELECT 'Indexes: 4 on transactions, 1 on users, 1 on budgets' AS Performance_Optimizations;
 
 
 SELECT 'Next Steps:' AS Instructions;
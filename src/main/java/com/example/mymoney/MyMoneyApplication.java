@@ -2,7 +2,9 @@ package com.example.mymoney;
 
 import com.example.mymoney.controller.MainController;
 import com.example.mymoney.controller.WelcomeController;
+import com.example.mymoney.database.DatabaseManager;
 import com.example.mymoney.service.AuthenticationService;
+import com.example.mymoney.service.ServiceExecutor;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -21,6 +23,12 @@ public class    MyMoneyApplication extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        ServiceExecutor.getInstance().shutdown();
+        DatabaseManager.getInstance().close();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -2,6 +2,7 @@ package com.example.mymoney.controller;
 
 import com.example.mymoney.model.Transaction;
 import com.example.mymoney.service.AuthenticationService;
+import com.example.mymoney.service.DataService;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -13,14 +14,26 @@ import javafx.stage.StageStyle;
 import javafx.scene.Scene;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 public class AddTransactionDialog {
+    private static final List<String> INCOME_CATEGORIES =
+        List.of("Salary", "Freelance", "Investment", "Gift", "Other Income");
+    private static final List<String> EXPENSE_CATEGORIES =
+        List.of("Groceries", "Utilities", "Transportation", "Entertainment", "Healthcare", "Shopping", "Food", "Other Expense");
+    private static final int MAX_SUGGESTIONS = 10;
+
     private final Stage dialog;
     private Transaction result = null;
     private final AuthenticationService authService;
+    private final DataService dataService;
+    private long suggestionGeneration;
 
     public AddTransactionDialog(Stage owner) {
         this.authService = AuthenticationService.getInstance();
+        this.dataService = DataService.getInstance();
         dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
         dialog.initOwner(owner);
@@ -88,21 +101,26 @@ public class AddTransactionDialog {
         categoryCombo.getStyleClass().add("combo-box");
         categoryCombo.setMaxWidth(Double.MAX_VALUE);
         categoryCombo.setPrefHeight(40);
+        categoryCombo.setEditable(true);
 
         typeCombo.setOnAction(e -> {
-            categoryCombo.getItems().clear();
-            if (typeCombo.getValue().equals("Income")) {
-                categoryCombo.getItems().addAll("Salary", "Freelance", "Investment", "Gift", "Other Income");
-            } else {
-                categoryCombo.getItems().addAll("Groceries", "Utilities", "Transportation", "Entertainment", "Healthcare", "Shopping", "Food", "Other Expense");
-            }
-            if (!categoryCombo.getItems().isEmpty()) {
-                categoryCombo.setValue(categoryCombo.getItems().get(0));
-            }
+            List<String> defaults = defaultCategories(selectedType(typeCombo));
+            categoryCombo.getItems().setAll(defaults);
+            categoryCombo.setValue(defaults.get(0));
+            refreshCategorySuggestions(categoryCombo, selectedType(typeCombo), "", false);
         });
 
-        categoryCombo.getItems().addAll("Groceries", "Utilities", "Transportation", "Entertainment", "Healthcare", "Shopping", "Food", "Other Expense");
+        categoryCombo.getItems().addAll(EXPENSE_CATEGORIES);
         categoryCombo.setValue("Groceries");
+        refreshCategorySuggestions(categoryCombo, Transaction.TransactionType.EXPENSE, "", false);
+
+        categoryCombo.getEditor().textProperty().addListener((obs, oldText, newText) -> {
+            // Picking an item sets the value first and the editor text second; only typing should narrow the list.
+            if (!categoryCombo.getEditor().isFocused() || newText.equals(categoryCombo.getValue())) {
+                return;
+            }
+            refreshCategorySuggestions(categoryCombo, selectedType(typeCombo), newText.trim(), true);
+        });
 
         Label amountLabel = new Label("Amount");
         amountLabel.getStyleClass().add("field-label");
@@ -159,19 +177,25 @@ public class AddTransactionDialog {
                     return;
                 }
 
-                Transaction.TransactionType type = typeCombo.getValue().equals("Income") 
-                    ? Transaction.TransactionType.INCOME 
-                    : Transaction.TransactionType.EXPENSE;
+                Transaction.TransactionType type = selectedType(typeCombo);
 
-                String category = categoryCombo.getValue();
-                if (category == null || category.isEmpty()) {
+                String category = categoryCombo.getEditor().getText().trim();
+                if (category.isEmpty()) {
                     errorLabel.setText("Please select a category");
                     errorLabel.setVisible(true);
                     return;
                 }
+                if (category.length() > Transaction.MAX_CATEGORY_LENGTH) {
+                    errorLabel.setText("Category must be at most " + Transaction.MAX_CATEGORY_LENGTH + " characters");
+                    errorLabel.setVisible(true);
+                    return;
+                }
 
                 LocalDate date = datePicker.getValue();
                 String notes = noteField.getText().trim();
+                if (notes.isEmpty()) {
+                    notes = null;
+                }
 
                 result = new Transaction(
                     authService.getCurrentUser().getId(),
@@ -207,6 +231,55 @@ public class AddTransactionDialog {
         return container;
     }
 
+    private static Transaction.TransactionType selectedType(ComboBox<String> typeCombo) {
+        return "Income".equals(typeCombo.getValue())
+            ? Transaction.TransactionType.INCOME
+            : Transaction.TransactionType.EXPENSE;
+    }
+
+    private static List<String> defaultCategories(Transaction.TransactionType type) {
+        return type == Transaction.TransactionType.INCOME ? INCOME_CATEGORIES : EXPENSE_CATEGORIES;
+    }
+
+    /**
+     * Fills the category list with the user's own categories matching {@code prefix}, most used
+     * first, followed by the matching built-in ones. The lookup runs off the FX thread and only the
+     * latest keystroke's answer is applied.
+     */
+    private void refreshCategorySuggestions(ComboBox<String> categoryCombo, Transaction.TransactionType type,
+                                            String prefix, boolean showPopup) {
+        long generation = ++suggestionGeneration;
+        String userId = authService.getCurrentUser().getId();
+        FxFutures.onFxThread(dataService.suggestCategoriesAsync(userId, type, prefix, MAX_SUGGESTIONS),
+            () -> generation == suggestionGeneration,
+            userCategories -> {
+                String folded = prefix.toLowerCase(Locale.ROOT);
+                List<String> suggestions = new ArrayList<>(userCategories);
+                for (String category : defaultCategories(type)) {
+                    if (category.toLowerCase(Locale.ROOT).startsWith(folded)
+                        && suggestions.stream().noneMatch(category::equalsIgnoreCase)) {
+                        suggestions.add(category);
+                    }
+                }
+
+                // Replacing the items can reset the editor, so put the user's text and caret back.
+                TextField editor = categoryCombo.getEditor();
+                String text = editor.getText();
+                int caret = editor.getCaretPosition();
+                categoryCombo.getItems().setAll(suggestions);
+                if (!editor.getText().equals(text)) {
+                    editor.setText(text);
+                    editor.positionCaret(caret);
+                }
+
+                if (showPopup && !suggestions.isEmpty()) {
+                    categoryCombo.show();
+                } else if (suggestions.isEmpty()) {
+                    categoryCombo.hide();
+                }
+            });
+    }
+
     public Transaction showAndWait() {
         dialog.showAndWait();
         return result;
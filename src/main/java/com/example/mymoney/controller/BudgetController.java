@@ -11,6 +11,7 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class BudgetController {
     private final AuthenticationService authService;
@@ -20,6 +21,7 @@ public class BudgetController {
     private Label totalSpentLabel;
     private ProgressBar overallProgressBar;
     private GridPane categoryGrid;
+    private long refreshGeneration;
 
     public BudgetController() {
         this.authService = AuthenticationService.getInstance();
@@ -227,10 +229,19 @@ public class BudgetController {
 
     public void refresh() {
         String userId = authService.getCurrentUser().getId();
-        Budget budget = budgetService.getBudget(userId);
-        Map<String, Double> currentMonthSpending = dataService.getCurrentMonthSpending(userId);
-        double totalSpent = dataService.getCurrentMonthTotalExpenses(userId);
+        long generation = ++refreshGeneration;
+        totalSpentLabel.setText("Loading...");
 
+        CompletableFuture<Budget> budget = budgetService.getBudgetAsync(userId);
+        CompletableFuture<Map<String, Double>> currentMonthSpending = dataService.getCurrentMonthSpendingAsync(userId);
+        CompletableFuture<Double> totalSpent = dataService.getCurrentMonthTotalExpensesAsync(userId);
+
+        FxFutures.onFxThread(CompletableFuture.allOf(budget, currentMonthSpending, totalSpent),
+            () -> generation == refreshGeneration,
+            ignored -> showBudget(budget.join(), currentMonthSpending.join(), totalSpent.join()));
+    }
+
+    private void showBudget(Budget budget, Map<String, Double> currentMonthSpending, double totalSpent) {
         overallBudgetField.setText(String.format("%.0f", budget.getOverallMonthlyBudget()));
         totalSpentLabel.setText(String.format("$%.0f / $%.0f", totalSpent, budget.getOverallMonthlyBudget()));
         
@@ -1,7 +1,6 @@
 package com.example.mymoney.controller;
 
 import com.example.mymoney.model.FinancialMetrics;
-import com.example.mymoney.model.Transaction;
 import com.example.mymoney.service.AuthenticationService;
 import com.example.mymoney.service.DataService;
 import javafx.geometry.Insets;
@@ -24,6 +23,7 @@ public class DashboardController {
     private VBox dashboardContent;
     private Label balanceValue, incomeValue, expensesValue, savingsValue;
     private LineChart<Number, Number> trendChart;
+    private long refreshGeneration;
 
     public DashboardController() {
         this.authService = AuthenticationService.getInstance();
@@ -146,9 +146,20 @@ public class DashboardController {
 
     public void refresh() {
         String userId = authService.getCurrentUser().getId();
-        
-        FinancialMetrics metrics = dataService.calculateMetricsOptimized(userId);
+        long generation = ++refreshGeneration;
 
+        for (Label value : List.of(balanceValue, incomeValue, expensesValue, savingsValue)) {
+            value.setText("…");
+        }
+
+        FxFutures.onFxThread(dataService.getDashboardSnapshotAsync(userId), () -> generation == refreshGeneration,
+            snapshot -> {
+                showMetrics(snapshot.getMetrics());
+                updateTrendChart(snapshot.getMonthlyIncome(), snapshot.getMonthlyExpenses());
+            });
+    }
+
+    private void showMetrics(FinancialMetrics metrics) {
         balanceValue.setText(metrics.getFormattedBalance());
         balanceValue.getStyleClass().clear();
         balanceValue.getStyleClass().addAll("metric-value", 
@@ -157,43 +168,11 @@ public class DashboardController {
         incomeValue.setText(metrics.getFormattedIncome());
         expensesValue.setText(metrics.getFormattedExpenses());
         savingsValue.setText(metrics.getFormattedSavingsRate());
-
-        updateTrendChart(userId);
-        
-        showDSAInsights(userId);
     }
     
-    private void showDSAInsights(String userId) {
-        List<Transaction> allTransactions = dataService.getTransactionsForUser(userId);
-        
-        if (allTransactions.isEmpty()) return;
-        
-        long startTime = System.nanoTime();
-        
-        double maxSpending = dataService.findMaxSpendingInWindow(allTransactions, 7);
-        
-        Map<String, Double> optimalBudget = dataService.optimalBudgetAllocation(allTransactions, 5000.0);
-        
-        Map<String, List<String>> spendingGraph = dataService.buildSpendingGraph(allTransactions);
-        
-        List<Transaction> topExpenses = dataService.getTopNTransactionsByAmount(
-            allTransactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .collect(java.util.stream.Collectors.toList()), 
-            3, true
-        );
-        
-        long endTime = System.nanoTime();
-        double analysisTime = (endTime - startTime) / 1_000_000.0;
-        
-    }
-
-    private void updateTrendChart(String userId) {
+    private void updateTrendChart(Map<YearMonth, Double> monthlyIncome, Map<YearMonth, Double> monthlyExpenses) {
         trendChart.getData().clear();
 
-        Map<YearMonth, Double> monthlyIncome = dataService.getMonthlyIncome(userId);
-        Map<YearMonth, Double> monthlyExpenses = dataService.getMonthlyExpenses(userId);
-
         // Get all months (last 6 months or available data)
         TreeMap<YearMonth, Double> sortedIncome = new TreeMap<>(monthlyIncome);
         TreeMap<YearMonth, Double> sortedExpenses = new TreeMap<>(monthlyExpenses);
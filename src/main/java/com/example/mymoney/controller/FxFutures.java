@@ -0,0 +1,38 @@
+package com.example.mymoney.controller;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Hands the results of background service calls back to the JavaFX Application Thread.
+ */
+final class FxFutures {
+    private FxFutures() {
+    }
+
+    static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        onFxThread(future, () -> true, onSuccess);
+    }
+
+    /**
+     * Applies the result only if {@code isCurrent} still holds on the FX thread, so a slow
+     * response from an older refresh cannot overwrite a newer one.
+     */
+    static <T> void onFxThread(CompletableFuture<T> future, BooleanSupplier isCurrent, Consumer<T> onSuccess) {
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                System.err.println("❌ Background load failed!");
+                error.printStackTrace();
+                return;
+            }
+            Platform.runLater(() -> {
+                if (isCurrent.getAsBoolean()) {
+                    onSuccess.accept(value);
+                }
+            });
+        });
+    }
+}
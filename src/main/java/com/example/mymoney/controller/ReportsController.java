@@ -1,7 +1,7 @@
 package com.example.mymoney.controller;
 
 import com.example.mymoney.model.FinancialMetrics;
-import com.example.mymoney.model.Transaction;
+import com.example.mymoney.model.ReportModel;
 import com.example.mymoney.service.AuthenticationService;
 import com.example.mymoney.service.DataService;
 import com.example.mymoney.service.BudgetService;
@@ -15,13 +15,18 @@ import javafx.stage.Stage;
 
 import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class ReportsController {
+    // Expenses are summed over this many consecutive days for the peak-spending insight
+    private static final int PEAK_WINDOW_DAYS = 7;
+
     private final AuthenticationService authService;
     private final DataService dataService;
     private final BudgetService budgetService;
     private final Stage stage;
+    private CompletableFuture<ReportModel> report;
 
     public ReportsController(Stage stage) {
         this.authService = AuthenticationService.getInstance();
@@ -38,6 +43,8 @@ public class ReportsController {
         Text title = new Text("Financial Reports & Analytics");
         title.setStyle("-fx-font-size: 32px; -fx-font-weight: bold; -fx-fill: white;");
 
+        report = dataService.getReportModelAsync(authService.getCurrentUser().getId());
+
         VBox chartsSection = createEnhancedChartsSection();
 
         VBox insightsSection = createEnhancedFinancialInsights();
@@ -52,7 +59,6 @@ public class ReportsController {
     }
 
 
-    
     private VBox createEnhancedChartsSection() {
         VBox section = new VBox(20);
         section.setMaxWidth(1400);
@@ -102,14 +108,18 @@ public class ReportsController {
         pieChart.setPrefHeight(350);
         pieChart.setStyle("-fx-background-color: transparent;");
 
-        String userId = authService.getCurrentUser().getId();
-        
-        Map<String, Double> categorySpending = dataService.getCategorySpending(userId);
+        box.getChildren().addAll(title, createLoadingLabel());
+        FxFutures.onFxThread(report, model ->
+            showSpendingPieChart(box, title, pieChart, model.getCategorySpending()));
 
+        return box;
+    }
+
+    private void showSpendingPieChart(VBox box, Text title, PieChart pieChart, Map<String, Double> categorySpending) {
         if (categorySpending.isEmpty()) {
             Label noDataLabel = new Label("No expense data available");
             noDataLabel.setStyle("-fx-text-fill: #a8dadc; -fx-font-size: 14px;");
-            box.getChildren().addAll(title, noDataLabel);
+            box.getChildren().setAll(title, noDataLabel);
         } else {
             List<Map.Entry<String, Double>> sortedCategories = categorySpending.entrySet().stream()
                 .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
@@ -127,10 +137,8 @@ public class ReportsController {
             }
 
             VBox legend = createEnhancedLegend(sortedCategories, total);
-            box.getChildren().addAll(title, pieChart, legend);
+            box.getChildren().setAll(title, pieChart, legend);
         }
-
-        return box;
     }
 
     private VBox createCategoryBarChart() {
@@ -152,10 +160,15 @@ public class ReportsController {
         barChart.setPrefHeight(350);
         barChart.setStyle("-fx-background-color: transparent;");
 
-        String userId = authService.getCurrentUser().getId();
-        Map<String, Double> currentMonthSpending = dataService.getCurrentMonthSpending(userId);
-        Map<String, Double> previousMonthSpending = getPreviousMonthSpending(userId);
+        box.getChildren().addAll(title, barChart);
+        FxFutures.onFxThread(report, model ->
+            showCategoryComparison(barChart, model.getCurrentMonthSpending(), model.getPreviousMonthSpending()));
 
+        return box;
+    }
+
+    private void showCategoryComparison(BarChart<String, Number> barChart, Map<String, Double> currentMonthSpending,
+                                        Map<String, Double> previousMonthSpending) {
         XYChart.Series<String, Number> currentSeries = new XYChart.Series<>();
         currentSeries.setName("Current Month");
         
@@ -174,9 +187,6 @@ public class ReportsController {
         }
 
         barChart.getData().addAll(currentSeries, previousSeries);
-        box.getChildren().addAll(title, barChart);
-
-        return box;
     }
 
     private VBox createEnhancedBalanceTrendChart() {
@@ -212,11 +222,20 @@ public class ReportsController {
         lineChart.setPrefHeight(350);
         lineChart.setStyle("-fx-background-color: transparent;");
 
-        String userId = authService.getCurrentUser().getId();
-        
-        Map<YearMonth, Double> monthlyIncome = dataService.getMonthlyIncome(userId);
-        Map<YearMonth, Double> monthlyExpenses = dataService.getMonthlyExpenses(userId);
+        VBox stats = new VBox(10);
+        stats.getChildren().add(createLoadingLabel());
+        box.getChildren().addAll(title, lineChart, stats);
+
+        FxFutures.onFxThread(report, model -> {
+            showBalanceTrend(lineChart, model.getMonthlyIncome(), model.getMonthlyExpenses());
+            stats.getChildren().setAll(
+                createEnhancedStats(model.getMonthlyIncome(), model.getMonthlyExpenses(), model.getMetrics()));
+        });
+        return box;
+    }
 
+    private void showBalanceTrend(LineChart<Number, Number> lineChart, Map<YearMonth, Double> monthlyIncome,
+                                  Map<YearMonth, Double> monthlyExpenses) {
         XYChart.Series<Number, Number> balanceSeries = new XYChart.Series<>();
         balanceSeries.setName("Balance");
 
@@ -254,10 +273,6 @@ public class ReportsController {
         }
 
         lineChart.getData().addAll(incomeSeries, expenseSeries, balanceSeries);
-
-        VBox stats = createEnhancedStats(monthlyIncome, monthlyExpenses);
-        box.getChildren().addAll(title, lineChart, stats);
-        return box;
     }
 
     private VBox createSavingsAreaChart() {
@@ -280,10 +295,15 @@ public class ReportsController {
         areaChart.setPrefHeight(350);
         areaChart.setStyle("-fx-background-color: transparent;");
 
-        String userId = authService.getCurrentUser().getId();
-        Map<YearMonth, Double> monthlyIncome = dataService.getMonthlyIncome(userId);
-        Map<YearMonth, Double> monthlyExpenses = dataService.getMonthlyExpenses(userId);
+        box.getChildren().addAll(title, areaChart);
+        FxFutures.onFxThread(report, model ->
+            showSavings(areaChart, model.getMonthlyIncome(), model.getMonthlyExpenses()));
+
+        return box;
+    }
 
+    private void showSavings(AreaChart<Number, Number> areaChart, Map<YearMonth, Double> monthlyIncome,
+                             Map<YearMonth, Double> monthlyExpenses) {
         XYChart.Series<Number, Number> savingsSeries = new XYChart.Series<>();
         savingsSeries.setName("Cumulative Savings");
 
@@ -311,9 +331,6 @@ public class ReportsController {
         }
 
         areaChart.getData().add(savingsSeries);
-        box.getChildren().addAll(title, areaChart);
-
-        return box;
     }
 
 
@@ -327,10 +344,6 @@ public class ReportsController {
         Text sectionTitle = new Text("Financial Insights");
         sectionTitle.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-fill: white;");
 
-        String userId = authService.getCurrentUser().getId();
-        Map<String, Double> categorySpending = dataService.getCategorySpending(userId);
-        FinancialMetrics metrics = dataService.calculateMetricsOptimized(userId);
-
         GridPane insights = new GridPane();
         insights.setHgap(40);
         insights.setVgap(20);
@@ -338,34 +351,56 @@ public class ReportsController {
 
         VBox highestExpense = createInsightCard(
             "Highest Expense Category",
-            getHighestCategory(categorySpending),
-            String.format("₱%.2f", getHighestAmount(categorySpending)),
+            "…",
+            "…",
             "#06ffa5"
         );
+        FxFutures.onFxThread(report, model -> updateInsightCard(highestExpense,
+            getHighestCategory(model.getCategorySpending()),
+            String.format("₱%.2f", getHighestAmount(model.getCategorySpending()))));
 
         VBox growthRate = createInsightCard(
             "Growth Rate Analysis",
             "Balance Trend",
-            calculateGrowthRate(userId),
+            "…",
             "#06ffa5"
         );
+        FxFutures.onFxThread(report, model -> updateInsightCard(growthRate, "Balance Trend",
+            calculateGrowthRate(model.getMonthlyIncome(), model.getMonthlyExpenses())));
 
         VBox budgetOptimization = createInsightCard(
             "Budget Optimization",
             "Recommendation",
-            getBudgetOptimizationStatus(userId),
+            "…",
             "#f4a261"
         );
+        FxFutures.onFxThread(report, model ->
+            updateInsightCard(budgetOptimization, "Recommendation", getBudgetOptimizationStatus(model)));
 
         VBox spendingPattern = createInsightCard(
             "Spending Pattern",
             "Analysis",
-            getSpendingPatternInsight(userId),
+            "…",
             "#9775fa"
         );
 
+        VBox peakSpending = createInsightCard(
+            "Peak Spending",
+            "Busiest " + PEAK_WINDOW_DAYS + " Days",
+            "…",
+            "#e63946"
+        );
+        // Read from the in-memory ledger once the rollup-backed cards are on screen
+        String userId = authService.getCurrentUser().getId();
+        FxFutures.onFxThread(report.thenCompose(model ->
+                dataService.getMaxSpendingInWindowAsync(userId, PEAK_WINDOW_DAYS - 1)),
+            peak -> updateInsightCard(peakSpending, "Busiest " + PEAK_WINDOW_DAYS + " Days", String.format("₱%.2f", peak)));
+        FxFutures.onFxThread(report.thenCompose(model -> dataService.getSpendingPatternsAsync(userId)),
+            patterns -> updateInsightCard(spendingPattern, "Analysis", getSpendingPatternInsight(patterns.size())));
+
         insights.add(highestExpense, 0, 0);
         insights.add(growthRate, 1, 0);
+        insights.add(peakSpending, 2, 0);
         insights.add(budgetOptimization, 0, 1);
         insights.add(spendingPattern, 1, 1);
 
@@ -392,6 +427,17 @@ public class ReportsController {
         card.getChildren().addAll(titleLabel, mainLabel, valueLabel);
         return card;
     }
+
+    private void updateInsightCard(VBox card, String label, String value) {
+        ((Label) card.getChildren().get(1)).setText(label);
+        ((Label) card.getChildren().get(2)).setText(value);
+    }
+
+    private Label createLoadingLabel() {
+        Label loadingLabel = new Label("Loading...");
+        loadingLabel.setStyle("-fx-text-fill: #a8dadc; -fx-font-size: 14px;");
+        return loadingLabel;
+    }
     
     
     private VBox createEnhancedLegend(List<Map.Entry<String, Double>> sortedCategories, double total) {
@@ -422,12 +468,12 @@ public class ReportsController {
         return legend;
     }
     
-    private VBox createEnhancedStats(Map<YearMonth, Double> monthlyIncome, Map<YearMonth, Double> monthlyExpenses) {
+    private VBox createEnhancedStats(Map<YearMonth, Double> monthlyIncome, Map<YearMonth, Double> monthlyExpenses,
+                                     FinancialMetrics metrics) {
         HBox stats = new HBox(40);
         stats.setAlignment(Pos.CENTER);
         stats.setPadding(new Insets(15, 0, 0, 0));
 
-        FinancialMetrics metrics = dataService.calculateMetricsOptimized(authService.getCurrentUser().getId());
         int monthCount = Math.max(monthlyIncome.size(), monthlyExpenses.size());
         monthCount = monthCount > 0 ? monthCount : 1;
 
@@ -462,14 +508,7 @@ public class ReportsController {
         return container;
     }
     
-    private Map<String, Double> getPreviousMonthSpending(String userId) {
-        return new HashMap<>();
-    }
-    
-    private String calculateGrowthRate(String userId) {
-        Map<YearMonth, Double> monthlyIncome = dataService.getMonthlyIncome(userId);
-        Map<YearMonth, Double> monthlyExpenses = dataService.getMonthlyExpenses(userId);
-        
+    private String calculateGrowthRate(Map<YearMonth, Double> monthlyIncome, Map<YearMonth, Double> monthlyExpenses) {
         if (monthlyIncome.size() < 2) return "Insufficient Data";
         
         List<Double> monthlyBalances = new ArrayList<>();
@@ -494,22 +533,18 @@ public class ReportsController {
         return String.format("%.1f%%", growthRate);
     }
     
-    private String getBudgetOptimizationStatus(String userId) {
-        List<Transaction> transactions = dataService.getTransactionsForUser(userId);
-        Map<String, Double> optimalBudget = dataService.optimalBudgetAllocation(transactions, 5000.0);
+    private String getBudgetOptimizationStatus(ReportModel model) {
+        Map<String, Double> optimalBudget = model.getSuggestedBudget();
         
         if (optimalBudget.isEmpty()) return "No Data";
         
         return optimalBudget.size() + " categories optimized";
     }
     
-    private String getSpendingPatternInsight(String userId) {
-        List<Transaction> transactions = dataService.getTransactionsForUser(userId);
-        Map<String, List<String>> spendingGraph = dataService.buildSpendingGraph(transactions);
-        
-        if (spendingGraph.isEmpty()) return "No Patterns";
+    private String getSpendingPatternInsight(int patternCount) {
+        if (patternCount == 0) return "No Patterns";
         
-        return spendingGraph.size() + " connected patterns";
+        return patternCount + " connected patterns";
     }
     
     
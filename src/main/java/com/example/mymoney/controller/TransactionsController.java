@@ -1,17 +1,25 @@
 package com.example.mymoney.controller;
 
+import com.example.mymoney.model.ImportResult;
 import com.example.mymoney.model.Transaction;
+import com.example.mymoney.model.TransactionSort;
 import com.example.mymoney.service.AuthenticationService;
+import com.example.mymoney.service.CsvTransactionImporter;
 import com.example.mymoney.service.DataService;
+import com.example.mymoney.service.ServiceExecutor;
+import com.example.mymoney.service.TransactionPager;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
+import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.io.File;
@@ -19,14 +27,29 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class TransactionsController {
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 8;
+    // Start fetching the next page when a row this close to the end is rendered
+    private static final int PREFETCH_ROWS = 20;
+    // Same-amount expenses at most this many days apart are listed as possible duplicates
+    private static final int DUPLICATE_WINDOW_DAYS = 3;
+
     private final AuthenticationService authService;
     private final DataService dataService;
     private final Runnable onTransactionChange;
     private final Stage stage;
     private TableView<Transaction> transactionTable;
     private ObservableList<Transaction> transactionList;
+    private long loadGeneration;
+    private TransactionPager pager;
+    private int nextPageIndex;
+    private boolean hasMorePages;
+    private boolean loadingPage;
+    // True while transactionList holds the user's entire history
+    private boolean historyLoaded;
 
     public TransactionsController(Stage stage, Runnable onTransactionChange) {
         this.authService = AuthenticationService.getInstance();
@@ -59,6 +82,10 @@ public class TransactionsController {
 
         HBox dsaControls = createDSAControls();
 
+        Button importButton = new Button("Import CSV");
+        importButton.getStyleClass().add("secondary-button");
+        importButton.setOnAction(e -> importFromCSV());
+
         Button exportButton = new Button("Export CSV");
         exportButton.getStyleClass().add("secondary-button");
         exportButton.setOnAction(e -> exportToCSV());
@@ -67,7 +94,7 @@ public class TransactionsController {
         addButton.getStyleClass().add("primary-button");
         addButton.setOnAction(e -> showAddTransactionDialog());
 
-        header.getChildren().addAll(title, spacer, dsaControls, exportButton, addButton);
+        header.getChildren().addAll(title, spacer, dsaControls, importButton, exportButton, addButton);
         return header;
     }
 
@@ -81,13 +108,20 @@ public class TransactionsController {
             "Sort by Amount", 
             "Sort by Category",
             "Top 5 Highest",
-            "Top 5 Lowest"
+            "Top 5 Lowest",
+            "Possible Duplicates"
         );
         sortCombo.setPromptText("Sort transactions...");
         sortCombo.setPrefWidth(200);
         sortCombo.setOnAction(e -> applySorting(sortCombo.getValue()));
 
-        controls.getChildren().addAll(sortCombo);
+        TextField searchField = new TextField();
+        searchField.setPromptText("Search notes...");
+        searchField.getStyleClass().add("text-field");
+        searchField.setPrefWidth(200);
+        searchField.setOnAction(e -> applySearch(searchField.getText()));
+
+        controls.getChildren().addAll(searchField, sortCombo);
         return controls;
     }
 
@@ -99,6 +133,15 @@ public class TransactionsController {
         transactionTable.getStyleClass().add("table-view");
         transactionTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         transactionTable.setPrefHeight(500);
+        transactionTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(Transaction item, boolean empty) {
+                super.updateItem(item, empty);
+                if (!empty && getIndex() >= transactionList.size() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
 
         TableColumn<Transaction, String> dateColumn = new TableColumn<>("Date");
         dateColumn.setCellValueFactory(cellData -> 
@@ -153,15 +196,24 @@ public class TransactionsController {
         Transaction transaction = dialog.showAndWait();
 
         if (transaction != null) {
-            dataService.addTransaction(transaction);
-            refreshTable();
-            onTransactionChange.run();
+            FxFutures.onFxThread(dataService.addTransactionAsync(transaction), added -> {
+                if (!added) {
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Error");
+                    alert.setHeaderText(null);
+                    alert.setContentText("The transaction could not be saved. Please try again.");
+                    alert.showAndWait();
+                    return;
+                }
+                refreshTable();
+                onTransactionChange.run();
 
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Success");
-            alert.setHeaderText(null);
-            alert.setContentText("Transaction added successfully!");
-            alert.showAndWait();
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Success");
+                alert.setHeaderText(null);
+                alert.setContentText("Transaction added successfully!");
+                alert.showAndWait();
+            });
         }
     }
 
@@ -194,38 +246,234 @@ public class TransactionsController {
         }
     }
 
+    private void importFromCSV() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Transaction Data");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("CSV Files", "*.csv")
+        );
+
+        File file = fileChooser.showOpenDialog(stage);
+        if (file == null) {
+            return;
+        }
+
+        String userId = authService.getCurrentUser().getId();
+        CsvTransactionImporter importer = new CsvTransactionImporter(dataService);
+
+        Task<ImportResult> importTask = new Task<>() {
+            @Override
+            protected ImportResult call() throws Exception {
+                return importer.importFile(userId, file.toPath(), progress -> {
+                    updateProgress(progress.getFraction(), 1.0);
+                    updateMessage(String.format("%,d rows imported (%.0f rows/s)",
+                        progress.rowsImported(), progress.getRowsPerSecond()));
+                });
+            }
+        };
+
+        Stage progressDialog = createImportProgressDialog(importTask, importer);
+
+        importTask.setOnSucceeded(e -> {
+            progressDialog.close();
+            refreshTable();
+            onTransactionChange.run();
+
+            ImportResult result = importTask.getValue();
+            StringBuilder summary = new StringBuilder(result.getProgress().toString());
+            result.getErrors().stream().limit(5).forEach(error -> summary.append("\n").append(error));
+
+            Alert alert = new Alert(result.isSuccessful() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+            alert.setTitle(result.isCancelled() ? "Import Cancelled" : "Import Finished");
+            alert.setHeaderText(null);
+            alert.setContentText(summary.toString());
+            alert.showAndWait();
+        });
+
+        importTask.setOnFailed(e -> {
+            progressDialog.close();
+            refreshTable();
+
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Import Failed");
+            alert.setHeaderText(null);
+            alert.setContentText("Failed to import data: " + importTask.getException().getMessage());
+            alert.showAndWait();
+        });
+
+        Thread importThread = new Thread(importTask, "csv-import");
+        importThread.setDaemon(true);
+        importThread.start();
+        progressDialog.show();
+    }
+
+    private Stage createImportProgressDialog(Task<ImportResult> importTask, CsvTransactionImporter importer) {
+        Stage dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.initOwner(stage);
+        dialog.setTitle("Importing Transactions");
+
+        VBox content = new VBox(15);
+        content.getStyleClass().add("form-container");
+        content.setPadding(new Insets(25));
+        content.setPrefWidth(420);
+
+        Text title = new Text("Importing Transactions");
+        title.getStyleClass().add("form-title");
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        progressBar.progressProperty().bind(importTask.progressProperty());
+
+        Label statusLabel = new Label("Starting import...");
+        statusLabel.setStyle("-fx-text-fill: #a8dadc; -fx-font-size: 13px;");
+        importTask.messageProperty().addListener((obs, oldMessage, message) -> statusLabel.setText(message));
+
+        Button cancelButton = new Button("Cancel");
+        cancelButton.getStyleClass().add("secondary-button");
+        cancelButton.setOnAction(e -> {
+            cancelButton.setDisable(true);
+            statusLabel.setText("Cancelling after the current batch...");
+            importer.cancel();
+        });
+        dialog.setOnCloseRequest(e -> importer.cancel());
+
+        content.getChildren().addAll(title, progressBar, statusLabel, cancelButton);
+
+        Scene scene = new Scene(content);
+        scene.getStylesheets().add(getClass().getResource("/com/example/mymoney/styles.css").toExternalForm());
+        dialog.setScene(scene);
+        return dialog;
+    }
+
+    /**
+     * Reloads the table from the first page; further pages are fetched as the user scrolls.
+     */
     private void refreshTable() {
         String userId = authService.getCurrentUser().getId();
-        transactionList.setAll(dataService.getTransactionsForUser(userId));
+        if (pager == null || !pager.getUserId().equals(userId)) {
+            pager = new TransactionPager(dataService, userId, PAGE_SIZE, CACHED_PAGES);
+        }
+
+        loadGeneration++;
+        nextPageIndex = 0;
+        hasMorePages = true;
+        loadingPage = false;
+        historyLoaded = false;
+        transactionList.clear();
+        transactionTable.setPlaceholder(new Label("Loading transactions..."));
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || !hasMorePages) {
+            return;
+        }
+        loadingPage = true;
+
+        long generation = loadGeneration;
+        FxFutures.onFxThread(pager.getPageAsync(nextPageIndex), () -> generation == loadGeneration, page -> {
+            loadingPage = false;
+            nextPageIndex++;
+            hasMorePages = page.hasNext();
+            historyLoaded = !hasMorePages;
+            transactionTable.setPlaceholder(new Label("No transactions yet"));
+            transactionList.addAll(page.transactions());
+        });
+    }
+
+    /**
+     * Replaces the paged view with a sorted list. {@code complete} says whether it holds the
+     * whole history or just a top-N slice.
+     */
+    private void showTransactions(CompletableFuture<List<Transaction>> transactions, boolean complete) {
+        long generation = ++loadGeneration;
+        hasMorePages = false;
+        transactionTable.setPlaceholder(new Label("Loading transactions..."));
+        FxFutures.onFxThread(transactions, () -> generation == loadGeneration, loaded -> {
+            historyLoaded = complete;
+            transactionTable.setPlaceholder(new Label("No transactions yet"));
+            transactionList.setAll(loaded);
+        });
     }
 
     
+    /**
+     * Sorting is pushed down to MySQL unless the whole history is already in the table, in
+     * which case it is re-sorted in memory instead of being fetched again.
+     */
     private void applySorting(String sortType) {
         if (sortType == null) return;
-        
+
+        if (sortType.equals("Sort by Date")) {
+            // The paged view is already newest first
+            refreshTable();
+            return;
+        }
+
         String userId = authService.getCurrentUser().getId();
-        List<Transaction> transactions = dataService.getTransactionsForUser(userId);
+        if (sortType.equals("Possible Duplicates")) {
+            showTransactions(dataService.findDuplicateChargesAsync(userId, DUPLICATE_WINDOW_DAYS)
+                .thenApply(groups -> groups.stream().flatMap(List::stream).toList()), false);
+            return;
+        }
+
+        boolean complete = !sortType.startsWith("Top ");
+        if (historyLoaded) {
+            List<Transaction> loaded = new ArrayList<>(transactionList);
+            showTransactions(ServiceExecutor.getInstance().supply(() -> sortTransactions(loaded, sortType)), complete);
+            return;
+        }
+
+        CompletableFuture<List<Transaction>> sorted = switch (sortType) {
+            case "Sort by Amount" -> dataService.getTransactionsSortedAsync(userId, TransactionSort.AMOUNT_DESC, 0);
+            case "Sort by Category" -> dataService.getTransactionsSortedAsync(userId, TransactionSort.CATEGORY_ASC, 0);
+            case "Top 5 Highest" -> dataService.getTransactionsSortedAsync(userId, TransactionSort.AMOUNT_DESC, 5);
+            case "Top 5 Lowest" -> dataService.getTransactionsSortedAsync(userId, TransactionSort.AMOUNT_ASC, 5);
+            default -> dataService.getTransactionsSortedAsync(userId, TransactionSort.DATE_DESC, 0);
+        };
+        showTransactions(sorted, complete);
+    }
+
+    private void applySearch(String query) {
+        if (query == null || query.isBlank()) {
+            refreshTable();
+            return;
+        }
+
+        // Whole-word search first; fall back to fragment and typo-tolerant matching
+        String userId = authService.getCurrentUser().getId();
+        showTransactions(dataService.searchNotesAsync(userId, query)
+            .thenCompose(results -> results.isEmpty()
+                ? dataService.searchSubstringAsync(userId, query.strip())
+                : CompletableFuture.completedFuture(results))
+            .thenCompose(results -> results.isEmpty()
+                ? dataService.searchFuzzyAsync(userId, query)
+                : CompletableFuture.completedFuture(results)), false);
+    }
+
+    private List<Transaction> sortTransactions(List<Transaction> transactions, String sortType) {
         List<Transaction> sortedTransactions = new ArrayList<>();
         
         switch (sortType) {
             case "Sort by Date":
-                sortedTransactions = dataService.mergeSortByDate(transactions, false); // Descending
+                sortedTransactions = DataService.mergeSortByDate(transactions, false); // Descending
                 break;
             case "Sort by Amount":
-                sortedTransactions = dataService.quickSortByAmount(transactions, false); // Descending
+                sortedTransactions = DataService.quickSortByAmount(transactions, false); // Descending
                 break;
             case "Sort by Category":
-                sortedTransactions = dataService.heapSortByCategory(transactions, true); // Ascending
+                sortedTransactions = DataService.heapSortByCategory(transactions, true); // Ascending
                 break;
             case "Top 5 Highest":
-                sortedTransactions = dataService.getTopNTransactionsByAmount(transactions, 5, true);
+                sortedTransactions = DataService.getTopNTransactionsByAmount(transactions, 5, true);
                 break;
             case "Top 5 Lowest":
-                sortedTransactions = dataService.getTopNTransactionsByAmount(transactions, 5, false);
+                sortedTransactions = DataService.getTopNTransactionsByAmount(transactions, 5, false);
                 break;
         }
         
-        transactionList.setAll(sortedTransactions);
+        return sortedTransactions;
     }
     
 }
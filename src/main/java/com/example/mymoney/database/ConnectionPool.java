@@ -0,0 +1,320 @@
+package com.example.mymoney.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool.
+ *
+ * At most {@code maxSize} connections are handed out at once; further borrowers wait up to
+ * the borrow timeout. Idle connections are reused most-recently-used first, validated on
+ * borrow, retired once they exceed the max lifetime, and evicted by a background
+ * housekeeper after sitting idle too long (never below {@code minIdle}). Each connection
+ * carries its own {@link StatementCache}, which lives and dies with the connection.
+ */
+public class ConnectionPool {
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_INTERVAL_SECONDS = 30;
+    private static final long SLOT_WAIT_MILLIS = 50;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<Entry> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+    // Only touched by the housekeeper thread; keeps an outage from being logged every pass
+    private boolean refillFailing;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicLong statementCacheEvictions = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, int minIdle,
+                          Duration borrowTimeout, Duration idleTimeout, Duration maxLifetime,
+                          int statementCacheSize) {
+        if (maxSize <= 0 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: max=" + maxSize + ", minIdle=" + minIdle);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = minIdle;
+        this.borrowTimeoutMillis = borrowTimeout.toMillis();
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.maxLifetimeMillis = maxLifetime.toMillis();
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+            HOUSEKEEPING_INTERVAL_SECONDS, HOUSEKEEPING_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout for one to become available.
+     * The returned lease must be closed (try-with-resources) to give the connection back.
+     */
+    public PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                    + " ms waiting for a database connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Entry entry = takeIdleOrCreate();
+            recordWait(System.nanoTime() - start);
+            return new PooledConnection(this, entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Entry takeIdleOrCreate() throws SQLException {
+        while (true) {
+            Entry entry;
+            while ((entry = idle.pollFirst()) != null) {
+                if (isUsable(entry)) {
+                    return entry;
+                }
+                discard(entry);
+            }
+            if (reserveSlot()) {
+                return create();
+            }
+            // Every slot is taken but we hold a permit, so at least one connection is idle or being
+            // created by the housekeeper; wait for it to land in the deque.
+            try {
+                entry = idle.pollFirst(SLOT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            }
+            if (entry != null) {
+                idle.offerFirst(entry);
+            }
+        }
+    }
+
+    private boolean isUsable(Entry entry) {
+        long now = System.currentTimeMillis();
+        if (isExpired(entry, now)) {
+            return false;
+        }
+        if (now - entry.lastUsedAt < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+        try {
+            if (entry.connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return true;
+            }
+        } catch (SQLException ignored) {
+            // treated as a failed validation below
+        }
+        validationFailures.incrementAndGet();
+        return false;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.createdAt >= maxLifetimeMillis;
+    }
+
+    /**
+     * Claims one of the {@code maxSize} physical connection slots, or returns false if all are
+     * in use. Reserving before connecting keeps concurrent creators from overshooting the limit.
+     */
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!totalConnections.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Opens a connection for a slot already claimed with {@link #reserveSlot}, giving the slot
+     * back if the connection cannot be opened.
+     */
+    private Entry create() throws SQLException {
+        try {
+            Connection connection = DriverManager.getConnection(url, user, password);
+            createdCount.incrementAndGet();
+            return new Entry(connection, new StatementCache(connection, statementCacheSize,
+                statementCacheHits, statementCacheMisses, statementCacheEvictions));
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void discard(Entry entry) {
+        totalConnections.decrementAndGet();
+        evictedCount.incrementAndGet();
+        try {
+            entry.connection.close();
+        } catch (SQLException ignored) {
+            // the connection is being thrown away either way
+        }
+    }
+
+    /**
+     * Called by {@link PooledConnection#close()}. Resets transaction state and puts the
+     * connection back at the head of the idle deque, or discards it if it is no longer fit.
+     */
+    void release(Entry entry) {
+        try {
+            if (closed || isExpired(entry, System.currentTimeMillis()) || !reset(entry)) {
+                discard(entry);
+            } else {
+                entry.lastUsedAt = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean reset(Entry entry) {
+        try {
+            Connection connection = entry.connection;
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        List<Entry> snapshot = new ArrayList<>(idle);
+
+        // Oldest idle entries sit at the tail of the deque
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            Entry entry = snapshot.get(i);
+            boolean idleTooLong = now - entry.lastUsedAt >= idleTimeoutMillis && idle.size() > minIdle;
+            if ((idleTooLong || isExpired(entry, now)) && idle.remove(entry)) {
+                discard(entry);
+            }
+        }
+
+        while (!closed && idle.size() < minIdle && reserveSlot()) {
+            try {
+                idle.offerLast(create());
+                refillFailing = false;
+            } catch (SQLException e) {
+                if (!refillFailing) {
+                    refillFailing = true;
+                    System.err.println("❌ Connection pool could not refill idle connections!");
+                    e.printStackTrace();
+                }
+                break;
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    public PoolStats getStats() {
+        int available = permits.availablePermits();
+        long borrows = borrowCount.get();
+        return new PoolStats(
+            totalConnections.get(),
+            maxSize - available,
+            idle.size(),
+            permits.getQueueLength(),
+            maxSize,
+            borrows,
+            borrowTimeouts.get(),
+            borrows == 0 ? 0.0 : totalWaitNanos.get() / (double) borrows / 1_000_000.0,
+            maxWaitNanos.get() / 1_000_000.0,
+            createdCount.get(),
+            evictedCount.get(),
+            validationFailures.get(),
+            statementCacheHits.get(),
+            statementCacheMisses.get(),
+            statementCacheEvictions.get()
+        );
+    }
+
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        Entry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    static final class Entry {
+        final Connection connection;
+        final StatementCache statements;
+        final long createdAt;
+        volatile long lastUsedAt;
+
+        Entry(Connection connection, StatementCache statements) {
+            this.connection = connection;
+            this.statements = statements;
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsedAt = createdAt;
+        }
+    }
+}
@@ -1,53 +1,82 @@
 package com.example.mymoney.database;
 
 import java.sql.*;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class DatabaseManager {
-    private static DatabaseManager instance;
+    private static volatile DatabaseManager instance;
+    // The pool is opened and the schema checked under this lock, so waiters must park rather than pin
+    private static final ReentrantLock INSTANCE_LOCK = new ReentrantLock();
     
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/mymoney_db?createDatabaseIfNotExist=true&useSSL=false&serverTimezone=UTC";
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/mymoney_db?createDatabaseIfNotExist=true&useSSL=false&serverTimezone=UTC&useServerPrepStmts=true&rewriteBatchedStatements=true";
     private static final String DB_USER = "root";
     private static final String DB_PASSWORD = "";  // Empty password for XAMPP default
-    
-    private Connection connection;
+
+    private static final int POOL_MAX_SIZE = 10;
+    private static final int POOL_MIN_IDLE = 2;
+    private static final Duration POOL_BORROW_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration POOL_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration POOL_MAX_LIFETIME = Duration.ofMinutes(30);
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    // Left behind by older schemas; each is a prefix or duplicate of an index the schema declares
+    private static final String[] REDUNDANT_TRANSACTION_INDEXES = {
+        "idx_user_date", "idx_user_type",
+        "idx_transactions_user_id", "idx_transactions_user_date", "idx_transactions_user_type"
+    };
+
+    private final ConnectionPool pool;
 
     private DatabaseManager() {
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
-            connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            
-            createTables();
         } catch (ClassNotFoundException e) {
             System.err.println("❌ MySQL JDBC Driver not found!");
             e.printStackTrace();
-        } catch (SQLException e) {
-            System.err.println("❌ Failed to connect to database!");
-            System.err.println("Make sure XAMPP MySQL is running on port 3306");
-            e.printStackTrace();
         }
+
+        // The defaults target a local XAMPP install; tests point these at an embedded server
+        String url = System.getProperty("mymoney.db.url", DB_URL);
+        String user = System.getProperty("mymoney.db.user", DB_USER);
+        String password = System.getProperty("mymoney.db.password", DB_PASSWORD);
+        pool = new ConnectionPool(url, user, password, POOL_MAX_SIZE, POOL_MIN_IDLE,
+            POOL_BORROW_TIMEOUT, POOL_IDLE_TIMEOUT, POOL_MAX_LIFETIME, STATEMENT_CACHE_SIZE);
+        createTables();
     }
 
     public static DatabaseManager getInstance() {
-        if (instance == null) {
-            instance = new DatabaseManager();
+        DatabaseManager manager = instance;
+        if (manager == null) {
+            INSTANCE_LOCK.lock();
+            try {
+                manager = instance;
+                if (manager == null) {
+                    manager = new DatabaseManager();
+                    instance = manager;
+                }
+            } finally {
+                INSTANCE_LOCK.unlock();
+            }
         }
-        return instance;
+        return manager;
     }
 
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return connection;
+    /**
+     * Leases a pooled connection. Use it in try-with-resources so the connection goes back
+     * to the pool when the caller is done.
+     */
+    public PooledConnection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    public PoolStats getPoolStats() {
+        return pool.getStats();
     }
 
     private void createTables() {
-        try {
-            Statement stmt = connection.createStatement();
+        try (PooledConnection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
 
             String createUsersTable = """
                 CREATE TABLE IF NOT EXISTS users (
@@ -70,10 +99,21 @@ public class DatabaseManager {
                     notes TEXT,
                     transaction_date DATE NOT NULL,
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+                    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+                    INDEX idx_user_type_date (user_id, type, transaction_date),
+                    INDEX idx_user_date_created (user_id, transaction_date, created_at, id),
+                    INDEX idx_user_amount (user_id, amount),
+                    INDEX idx_user_category (user_id, category)
                 )
             """;
             stmt.execute(createTransactionsTable);
+            ensureIndex(conn, "transactions", "idx_user_type_date", "user_id, type, transaction_date");
+            ensureIndex(conn, "transactions", "idx_user_date_created", "user_id, transaction_date, created_at, id");
+            ensureIndex(conn, "transactions", "idx_user_amount", "user_id, amount");
+            ensureIndex(conn, "transactions", "idx_user_category", "user_id, category");
+            for (String redundant : REDUNDANT_TRANSACTION_INDEXES) {
+                dropIndex(conn, "transactions", redundant);
+            }
 
             String createBudgetsTable = """
                 CREATE TABLE IF NOT EXISTS budgets (
@@ -100,22 +140,71 @@ public class DatabaseManager {
             """;
             stmt.execute(createOverallBudgetTable);
 
-            
-            stmt.close();
+            String createMonthlyRollupTable = """
+                CREATE TABLE IF NOT EXISTS monthly_rollup (
+                    user_id VARCHAR(36) NOT NULL,
+                    `year_month` DATE NOT NULL,
+                    type ENUM('INCOME', 'EXPENSE') NOT NULL,
+                    category VARCHAR(50) NOT NULL,
+                    total DECIMAL(14, 2) NOT NULL,
+                    count INT NOT NULL,
+                    PRIMARY KEY (user_id, `year_month`, type, category),
+                    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+                )
+            """;
+            stmt.execute(createMonthlyRollupTable);
         } catch (SQLException e) {
-            System.err.println("❌ Error creating tables!");
+            System.err.println("❌ Failed to connect to database!");
+            System.err.println("Make sure XAMPP MySQL is running on port 3306");
             e.printStackTrace();
         }
     }
 
-    public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+    /**
+     * Adds an index to a table created by an older version of the schema, or rebuilds it if an
+     * older schema declared it with different columns. MySQL has no CREATE INDEX IF NOT EXISTS,
+     * so the catalog is checked first.
+     */
+    private void ensureIndex(PooledConnection conn, String table, String indexName, String columns) throws SQLException {
+        String existing = indexColumns(conn, table, indexName);
+        if (columns.replace(" ", "").equalsIgnoreCase(existing)) {
+            return;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            if (existing != null) {
+                stmt.execute("DROP INDEX " + indexName + " ON " + table);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            stmt.execute("CREATE INDEX " + indexName + " ON " + table + " (" + columns + ")");
         }
     }
+
+    private void dropIndex(PooledConnection conn, String table, String indexName) throws SQLException {
+        if (indexColumns(conn, table, indexName) == null) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP INDEX " + indexName + " ON " + table);
+        }
+    }
+
+    /**
+     * The index's columns as a comma-separated list without spaces, or null if there is no such index.
+     */
+    private String indexColumns(PooledConnection conn, String table, String indexName) throws SQLException {
+        String query = "SELECT GROUP_CONCAT(column_name ORDER BY seq_in_index) FROM information_schema.statistics "
+            + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+        try (PreparedStatement stmt = conn.getConnection().prepareStatement(query)) {
+            stmt.setString(1, table);
+            stmt.setString(2, indexName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    public void close() {
+        pool.close();
+    }
 }
 
@@ -0,0 +1,38 @@
+package com.example.mymoney.database;
+
+/**
+ * Point-in-time snapshot of {@link ConnectionPool} usage, for watching saturation under load.
+ */
+public record PoolStats(
+    int totalConnections,
+    int activeConnections,
+    int idleConnections,
+    int waitingThreads,
+    int maxSize,
+    long borrowCount,
+    long borrowTimeouts,
+    double averageWaitMillis,
+    double maxWaitMillis,
+    long createdCount,
+    long evictedCount,
+    long validationFailures,
+    long statementCacheHits,
+    long statementCacheMisses,
+    long statementCacheEvictions
+) {
+    public double getSaturation() {
+        return maxSize == 0 ? 0.0 : (double) activeConnections / maxSize;
+    }
+
+    public double getStatementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d/%d, idle=%d, waiting=%d, borrows=%d, timeouts=%d, avgWait=%.2fms, maxWait=%.2fms, stmtCacheHitRate=%.1f%%",
+            activeConnections, maxSize, idleConnections, waitingThreads, borrowCount, borrowTimeouts,
+            averageWaitMillis, maxWaitMillis, getStatementCacheHitRate() * 100);
+    }
+}
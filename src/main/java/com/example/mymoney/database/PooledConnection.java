@@ -0,0 +1,50 @@
+package com.example.mymoney.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A connection leased from the {@link ConnectionPool}. Closing the lease returns the
+ * underlying connection to the pool; the raw {@link Connection} itself must never be closed.
+ */
+public class PooledConnection implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final ConnectionPool.Entry entry;
+    private boolean released;
+
+    PooledConnection(ConnectionPool pool, ConnectionPool.Entry entry) {
+        this.pool = pool;
+        this.entry = entry;
+    }
+
+    public Connection getConnection() {
+        if (released) {
+            throw new IllegalStateException("Connection lease has already been returned to the pool");
+        }
+        return entry.connection;
+    }
+
+    /**
+     * Returns the connection's cached statement for {@code sql}, preparing it on first use.
+     * Parameters and batches are cleared on reuse. Callers close their result sets but must
+     * not close the statement; it stays cached for the next borrower of this connection.
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        getConnection();
+        return entry.statements.prepare(sql);
+    }
+
+    public Statement createStatement() throws SQLException {
+        return getConnection().createStatement();
+    }
+
+    @Override
+    public void close() {
+        if (!released) {
+            released = true;
+            pool.release(entry);
+        }
+    }
+}
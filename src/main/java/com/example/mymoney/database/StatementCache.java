@@ -0,0 +1,65 @@
+package com.example.mymoney.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for a single pooled connection, keyed by SQL text.
+ *
+ * A connection is only ever used by the thread holding its lease, so the cache itself is
+ * not synchronized. Hit/miss counters are shared across all connections of the pool.
+ */
+final class StatementCache {
+    private final Connection connection;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    StatementCache(Connection connection, int maxSize, AtomicLong hits, AtomicLong misses, AtomicLong evictions) {
+        this.connection = connection;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(maxSize * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                evictions.incrementAndGet();
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt != null && !stmt.isClosed()) {
+            hits.incrementAndGet();
+            stmt.clearParameters();
+            stmt.clearBatch();
+            return stmt;
+        }
+
+        misses.incrementAndGet();
+        stmt = connection.prepareStatement(sql);
+        statements.put(sql, stmt);
+        return stmt;
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException ignored) {
+            // evicted statements are discarded either way
+        }
+    }
+}
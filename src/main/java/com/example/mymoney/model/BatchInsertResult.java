@@ -0,0 +1,58 @@
+package com.example.mymoney.model;
+
+import java.util.List;
+
+public class BatchInsertResult {
+    private final int requestedRows;
+    private final int insertedRows;
+    private final List<ChunkFailure> failures;
+    private final long elapsedNanos;
+
+    /**
+     * A chunk whose batch insert was rolled back. Rows are numbered from 0 in the order the
+     * caller supplied them.
+     */
+    public record ChunkFailure(int chunkIndex, int firstRow, int rowCount, String message) {
+    }
+
+    public BatchInsertResult(int requestedRows, int insertedRows, List<ChunkFailure> failures, long elapsedNanos) {
+        this.requestedRows = requestedRows;
+        this.insertedRows = insertedRows;
+        this.failures = List.copyOf(failures);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRequestedRows() {
+        return requestedRows;
+    }
+
+    public int getInsertedRows() {
+        return insertedRows;
+    }
+
+    public int getFailedRows() {
+        return requestedRows - insertedRows;
+    }
+
+    public List<ChunkFailure> getFailures() {
+        return failures;
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? insertedRows / (elapsedNanos / 1_000_000_000.0) : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d rows inserted in %.1f ms (%.0f rows/s), %d failed chunk(s)",
+            insertedRows, requestedRows, elapsedNanos / 1_000_000.0, getRowsPerSecond(), failures.size());
+    }
+}
@@ -1,27 +1,29 @@
 package com.example.mymoney.model;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-public class Budget {
+public final class Budget {
     private final String userId;
     private double overallMonthlyBudget;
-    private final Map<String, Double> categoryBudgets;
+    // Indexed by CategoryDictionary id; NaN marks categories without a budget
+    private double[] categoryBudgets;
 
     public Budget(String userId) {
         this.userId = userId;
         this.overallMonthlyBudget = 3500.0; // Default budget
-        this.categoryBudgets = new HashMap<>();
+        this.categoryBudgets = new double[0];
         initializeDefaultBudgets();
     }
 
     private void initializeDefaultBudgets() {
-        categoryBudgets.put("Groceries", 600.0);
-        categoryBudgets.put("Utilities", 200.0);
-        categoryBudgets.put("Transportation", 300.0);
-        categoryBudgets.put("Entertainment", 250.0);
-        categoryBudgets.put("Healthcare", 150.0);
-        categoryBudgets.put("Shopping", 400.0);
+        setCategoryBudget("Groceries", 600.0);
+        setCategoryBudget("Utilities", 200.0);
+        setCategoryBudget("Transportation", 300.0);
+        setCategoryBudget("Entertainment", 250.0);
+        setCategoryBudget("Healthcare", 150.0);
+        setCategoryBudget("Shopping", 400.0);
     }
 
     public String getUserId() {
@@ -36,16 +38,42 @@ public class Budget {
         this.overallMonthlyBudget = overallMonthlyBudget;
     }
 
+    /**
+     * A snapshot of the category budgets keyed by name; changes to it do not affect this budget.
+     */
     public Map<String, Double> getCategoryBudgets() {
-        return categoryBudgets;
+        CategoryDictionary dictionary = CategoryDictionary.getInstance();
+        Map<String, Double> budgets = new LinkedHashMap<>();
+        for (int id = 0; id < categoryBudgets.length; id++) {
+            if (!Double.isNaN(categoryBudgets[id])) {
+                budgets.put(dictionary.name(id), categoryBudgets[id]);
+            }
+        }
+        return budgets;
     }
 
     public void setCategoryBudget(String category, double amount) {
-        categoryBudgets.put(category, amount);
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("Budget category must not be blank");
+        }
+        int id = CategoryDictionary.getInstance().idOf(category);
+        if (id >= categoryBudgets.length) {
+            int oldLength = categoryBudgets.length;
+            categoryBudgets = Arrays.copyOf(categoryBudgets, Math.max(id + 1, CategoryDictionary.getInstance().size()));
+            Arrays.fill(categoryBudgets, oldLength, categoryBudgets.length, Double.NaN);
+        }
+        categoryBudgets[id] = amount;
     }
 
     public double getCategoryBudget(String category) {
-        return categoryBudgets.getOrDefault(category, 0.0);
+        return getCategoryBudget(CategoryDictionary.getInstance().find(category));
+    }
+
+    public double getCategoryBudget(int categoryId) {
+        if (categoryId < 0 || categoryId >= categoryBudgets.length || Double.isNaN(categoryBudgets[categoryId])) {
+            return 0.0;
+        }
+        return categoryBudgets[categoryId];
     }
 }
 
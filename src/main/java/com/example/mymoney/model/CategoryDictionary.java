@@ -0,0 +1,84 @@
+package com.example.mymoney.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide mapping from category names to dense int ids. Every {@link Transaction} and
+ * {@link Budget} resolves its categories here, so each name is held once however many rows
+ * share it, and per-category totals can live in plain arrays indexed by id.
+ *
+ * <p>Lookups of known names are lock-free; registering a new name takes a short lock. Ids are
+ * never reused or removed.
+ */
+public final class CategoryDictionary {
+    public static final int NO_CATEGORY = -1;
+
+    private static CategoryDictionary instance;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private volatile int size;
+
+    private CategoryDictionary() {
+    }
+
+    public static synchronized CategoryDictionary getInstance() {
+        if (instance == null) {
+            instance = new CategoryDictionary();
+        }
+        return instance;
+    }
+
+    /**
+     * The id for {@code name}, registering it if it is new, or {@link #NO_CATEGORY} for null.
+     */
+    public int idOf(String name) {
+        if (name == null) {
+            return NO_CATEGORY;
+        }
+        Integer id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * The id for {@code name} without registering it, or {@link #NO_CATEGORY} if it is unknown.
+     */
+    public int find(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id != null ? id : NO_CATEGORY;
+    }
+
+    private synchronized int register(String name) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+        }
+        names[id] = name;
+        ids.put(name, id);
+        size = id + 1;
+        return id;
+    }
+
+    public String name(int id) {
+        return id == NO_CATEGORY ? null : names[id];
+    }
+
+    /**
+     * The canonical instance of {@code name}, so equal category strings share one object.
+     */
+    public String intern(String name) {
+        return name(idOf(name));
+    }
+
+    /**
+     * Number of ids handed out so far; arrays indexed by category id need at least this length.
+     */
+    public int size() {
+        return size;
+    }
+}
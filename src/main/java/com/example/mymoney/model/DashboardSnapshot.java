@@ -0,0 +1,32 @@
+package com.example.mymoney.model;
+
+import java.time.YearMonth;
+import java.util.SortedMap;
+
+/**
+ * Everything the dashboard shows: the headline metrics and the monthly income and expense trend.
+ */
+public class DashboardSnapshot {
+    private final FinancialMetrics metrics;
+    private final SortedMap<YearMonth, Double> monthlyIncome;
+    private final SortedMap<YearMonth, Double> monthlyExpenses;
+
+    public DashboardSnapshot(FinancialMetrics metrics, SortedMap<YearMonth, Double> monthlyIncome,
+                             SortedMap<YearMonth, Double> monthlyExpenses) {
+        this.metrics = metrics;
+        this.monthlyIncome = monthlyIncome;
+        this.monthlyExpenses = monthlyExpenses;
+    }
+
+    public FinancialMetrics getMetrics() {
+        return metrics;
+    }
+
+    public SortedMap<YearMonth, Double> getMonthlyIncome() {
+        return monthlyIncome;
+    }
+
+    public SortedMap<YearMonth, Double> getMonthlyExpenses() {
+        return monthlyExpenses;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.mymoney.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Half-open date range {@code [start, end)}. Queries bind both ends directly against
+ * {@code transaction_date} so they stay index range scans.
+ */
+public record DateRange(LocalDate start, LocalDate end) {
+
+    public DateRange {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Date range bounds must not be null");
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Date range end " + end + " is before start " + start);
+        }
+    }
+
+    public static DateRange of(LocalDate start, LocalDate endExclusive) {
+        return new DateRange(start, endExclusive);
+    }
+
+    public static DateRange ofDay(LocalDate day) {
+        return new DateRange(day, day.plusDays(1));
+    }
+
+    /**
+     * The ISO week (Monday to Sunday) containing {@code day}.
+     */
+    public static DateRange ofWeek(LocalDate day) {
+        LocalDate monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return new DateRange(monday, monday.plusWeeks(1));
+    }
+
+    public static DateRange ofMonth(YearMonth month) {
+        return new DateRange(month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    public static DateRange ofQuarter(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("Quarter must be 1-4: " + quarter);
+        }
+        LocalDate start = LocalDate.of(year, (quarter - 1) * 3 + 1, 1);
+        return new DateRange(start, start.plusMonths(3));
+    }
+
+    public static DateRange ofYear(int year) {
+        LocalDate start = LocalDate.of(year, 1, 1);
+        return new DateRange(start, start.plusYears(1));
+    }
+
+    public static DateRange currentMonth() {
+        return ofMonth(YearMonth.now());
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(start) && date.isBefore(end);
+    }
+
+    public boolean isEmpty() {
+        return start.equals(end);
+    }
+
+    /**
+     * True when both bounds fall on the first day of a month, i.e. the range covers whole months.
+     */
+    public boolean isMonthAligned() {
+        return start.getDayOfMonth() == 1 && end.getDayOfMonth() == 1;
+    }
+}
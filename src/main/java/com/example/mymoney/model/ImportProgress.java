@@ -0,0 +1,29 @@
+package com.example.mymoney.model;
+
+/**
+ * Snapshot of a running CSV import. {@code totalBytes} is the file size, so
+ * {@link #getFraction()} tracks how far through the file the parser has read.
+ */
+public record ImportProgress(
+    long rowsRead,
+    long rowsImported,
+    long rowsRejected,
+    long rowsFailed,
+    long bytesRead,
+    long totalBytes,
+    long elapsedNanos
+) {
+    public double getFraction() {
+        return totalBytes > 0 ? Math.min(1.0, (double) bytesRead / totalBytes) : 0.0;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? rowsImported / (elapsedNanos / 1_000_000_000.0) : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d rows imported, %,d rejected, %,d failed (%.0f rows/s)",
+            rowsImported, rowsRejected, rowsFailed, getRowsPerSecond());
+    }
+}
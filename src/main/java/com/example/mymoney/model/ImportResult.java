@@ -0,0 +1,35 @@
+package com.example.mymoney.model;
+
+import java.util.List;
+
+public class ImportResult {
+    private final ImportProgress progress;
+    private final List<String> errors;
+    private final boolean cancelled;
+
+    public ImportResult(ImportProgress progress, List<String> errors, boolean cancelled) {
+        this.progress = progress;
+        this.errors = List.copyOf(errors);
+        this.cancelled = cancelled;
+    }
+
+    public ImportProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Rejected-row and failed-chunk messages. Only the first few are kept so that a file full
+     * of bad rows cannot grow memory without bound.
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isSuccessful() {
+        return !cancelled && progress.rowsRejected() == 0 && progress.rowsFailed() == 0;
+    }
+}
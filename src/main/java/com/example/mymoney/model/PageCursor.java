@@ -0,0 +1,11 @@
+package com.example.mymoney.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Position of the last row of a page in the transaction list's newest-first order
+ * {@code (transaction_date, created_at, id)}. The next page starts strictly after it.
+ */
+public record PageCursor(LocalDate date, LocalDateTime createdAt, String id) {
+}
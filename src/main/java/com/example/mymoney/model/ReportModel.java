@@ -0,0 +1,66 @@
+package com.example.mymoney.model;
+
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Immutable inputs for every chart and insight on the Reports tab, built once per render from
+ * the user's monthly rollup.
+ */
+public class ReportModel {
+    private final YearMonth currentMonth;
+    private final FinancialMetrics metrics;
+    private final Map<String, Double> categorySpending;
+    private final Map<String, Double> currentMonthSpending;
+    private final Map<String, Double> previousMonthSpending;
+    private final SortedMap<YearMonth, Double> monthlyIncome;
+    private final SortedMap<YearMonth, Double> monthlyExpenses;
+    private final Map<String, Double> suggestedBudget;
+
+    public ReportModel(YearMonth currentMonth, FinancialMetrics metrics, Map<String, Double> categorySpending,
+                       Map<String, Double> currentMonthSpending, Map<String, Double> previousMonthSpending,
+                       SortedMap<YearMonth, Double> monthlyIncome, SortedMap<YearMonth, Double> monthlyExpenses,
+                       Map<String, Double> suggestedBudget) {
+        this.currentMonth = currentMonth;
+        this.metrics = metrics;
+        this.categorySpending = Map.copyOf(categorySpending);
+        this.currentMonthSpending = Map.copyOf(currentMonthSpending);
+        this.previousMonthSpending = Map.copyOf(previousMonthSpending);
+        this.monthlyIncome = monthlyIncome;
+        this.monthlyExpenses = monthlyExpenses;
+        this.suggestedBudget = Map.copyOf(suggestedBudget);
+    }
+
+    public YearMonth getCurrentMonth() {
+        return currentMonth;
+    }
+
+    public FinancialMetrics getMetrics() {
+        return metrics;
+    }
+
+    public Map<String, Double> getCategorySpending() {
+        return categorySpending;
+    }
+
+    public Map<String, Double> getCurrentMonthSpending() {
+        return currentMonthSpending;
+    }
+
+    public Map<String, Double> getPreviousMonthSpending() {
+        return previousMonthSpending;
+    }
+
+    public SortedMap<YearMonth, Double> getMonthlyIncome() {
+        return monthlyIncome;
+    }
+
+    public SortedMap<YearMonth, Double> getMonthlyExpenses() {
+        return monthlyExpenses;
+    }
+
+    public Map<String, Double> getSuggestedBudget() {
+        return suggestedBudget;
+    }
+}
@@ -5,11 +5,15 @@ import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 public class Transaction {
+    // Width of the category column in the transactions table
+    public static final int MAX_CATEGORY_LENGTH = 50;
+
     private final String id;
     private final String userId;
     private final TransactionType type;
     private final double amount;
     private final String category;
+    private final int categoryId;
     private final String notes;
     private final LocalDate date;
 
@@ -22,7 +26,8 @@ public class Transaction {
         this.userId = userId;
         this.type = type;
         this.amount = amount;
-        this.category = category;
+        this.categoryId = CategoryDictionary.getInstance().idOf(category);
+        this.category = CategoryDictionary.getInstance().name(categoryId);
         this.notes = notes;
         this.date = date;
     }
@@ -32,7 +37,8 @@ public class Transaction {
         this.userId = userId;
         this.type = type;
         this.amount = amount;
-        this.category = category;
+        this.categoryId = CategoryDictionary.getInstance().idOf(category);
+        this.category = CategoryDictionary.getInstance().name(categoryId);
         this.notes = notes;
         this.date = date;
     }
@@ -57,6 +63,13 @@ public class Transaction {
         return category;
     }
 
+    /**
+     * The category's id in the {@link CategoryDictionary}.
+     */
+    public int getCategoryId() {
+        return categoryId;
+    }
+
     public String getNotes() {
         return notes;
     }
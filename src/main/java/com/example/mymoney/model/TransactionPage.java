@@ -0,0 +1,17 @@
+package com.example.mymoney.model;
+
+import java.util.List;
+
+/**
+ * One page of transactions; {@code next} is null on the last page.
+ */
+public record TransactionPage(List<Transaction> transactions, PageCursor next) {
+
+    public TransactionPage {
+        transactions = List.copyOf(transactions);
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.mymoney.model;
+
+/**
+ * Orderings the transaction list can be requested in. Each one is answered by an index on
+ * {@code transactions}, so a limited request reads only the rows it returns.
+ */
+public enum TransactionSort {
+    DATE_DESC,
+    AMOUNT_DESC,
+    AMOUNT_ASC,
+    CATEGORY_ASC
+}
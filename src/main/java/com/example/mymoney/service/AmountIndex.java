@@ -0,0 +1,160 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Transactions ordered by amount in cents. {@code order} holds the document ids sorted by
+ * (amount, document id) and {@code sortedCents} the matching amounts; days and types are read
+ * from the user's {@link ColumnarLedger}.
+ *
+ * <p>{@code sortedCents} repeats a ledger column at 8 bytes a row so that binary searches and
+ * the duplicate scan read one contiguous array instead of a random ledger slot per probe.
+ *
+ * <p>New documents are appended to a pending tail and folded in on the next query with one sort
+ * of the tail and one linear merge, so loading a whole history costs a single sort and
+ * single-row appends cost a merge only when someone actually asks.
+ */
+final class AmountIndex implements LedgerIndex {
+    private final ColumnarLedger rows;
+    private int docCount;
+
+    private int[] order = new int[0];
+    private long[] sortedCents = new long[0];
+    private int sortedCount;
+
+    AmountIndex(ColumnarLedger rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void add(int docId) {
+        docCount = Math.max(docCount, docId + 1);
+    }
+
+    /**
+     * Number of transactions with {@code minCents <= amount <= maxCents}, in O(log n).
+     */
+    int count(long minCents, long maxCents) {
+        seal();
+        return Math.max(0, upperBound(maxCents) - lowerBound(minCents));
+    }
+
+    /**
+     * Document ids with {@code minCents <= amount <= maxCents}, smallest amount first.
+     */
+    int[] between(long minCents, long maxCents) {
+        seal();
+        int from = lowerBound(minCents);
+        int to = upperBound(maxCents);
+        return from < to ? Arrays.copyOfRange(order, from, to) : new int[0];
+    }
+
+    /**
+     * The {@code k} document ids whose amounts are closest to {@code cents}, closest first. Ties
+     * go to the smaller amount. Costs O(log n + k); a negative {@code k} returns nothing.
+     */
+    int[] nearest(long cents, int k) {
+        seal();
+        int count = Math.max(0, Math.min(k, sortedCount));
+        int[] result = new int[count];
+        int right = lowerBound(cents);
+        int left = right - 1;
+        for (int i = 0; i < count; i++) {
+            boolean takeLeft = right >= sortedCount
+                || (left >= 0 && cents - sortedCents[left] <= sortedCents[right] - cents);
+            result[i] = takeLeft ? order[left--] : order[right++];
+        }
+        return result;
+    }
+
+    /**
+     * Groups of expenses with the same amount whose dates are each within {@code windowDays} of
+     * the previous one in the group. Every group has at least two members, earliest first.
+     */
+    List<int[]> duplicateExpenses(int windowDays) {
+        seal();
+        List<int[]> groups = new ArrayList<>();
+        int start = 0;
+        while (start < sortedCount) {
+            int end = start + 1;
+            while (end < sortedCount && sortedCents[end] == sortedCents[start]) {
+                end++;
+            }
+            if (end - start > 1) {
+                IntList run = new IntList(end - start);
+                for (int i = start; i < end; i++) {
+                    if (rows.type(order[i]) == Transaction.TransactionType.EXPENSE) {
+                        run.add(order[i]);
+                    }
+                }
+                collectGroups(run, windowDays, groups);
+            }
+            start = end;
+        }
+        return groups;
+    }
+
+    private void collectGroups(IntList run, int windowDays, List<int[]> groups) {
+        if (run.size() < 2) {
+            return;
+        }
+        int[] byDay = run.toArray();
+        DocIdSort.sort(byDay, 0, byDay.length, rows::epochDay);
+        int groupStart = 0;
+        for (int i = 1; i <= byDay.length; i++) {
+            if (i == byDay.length || rows.epochDay(byDay[i]) - rows.epochDay(byDay[i - 1]) > windowDays) {
+                if (i - groupStart > 1) {
+                    groups.add(Arrays.copyOfRange(byDay, groupStart, i));
+                }
+                groupStart = i;
+            }
+        }
+    }
+
+    /**
+     * Folds documents added since the last query into the sorted arrays.
+     */
+    private void seal() {
+        if (sortedCount == docCount) {
+            return;
+        }
+        order = DocIdSort.extend(order, docCount, rows::amountCents);
+        sortedCents = new long[docCount];
+        for (int i = 0; i < docCount; i++) {
+            sortedCents[i] = rows.amountCents(order[i]);
+        }
+        sortedCount = docCount;
+    }
+
+    private int lowerBound(long cents) {
+        int lo = 0;
+        int hi = sortedCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedCents[mid] < cents) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int upperBound(long cents) {
+        int lo = 0;
+        int hi = sortedCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedCents[mid] <= cents) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.mymoney.service;
 
 import com.example.mymoney.database.DatabaseManager;
+import com.example.mymoney.database.PooledConnection;
 import com.example.mymoney.model.User;
 
 import java.nio.charset.StandardCharsets;
@@ -22,7 +23,7 @@ public class AuthenticationService {
         this.dbManager = DatabaseManager.getInstance();
     }
 
-    public static AuthenticationService getInstance() {
+    public static synchronized AuthenticationService getInstance() {
         if (instance == null) {
             instance = new AuthenticationService();
         }
@@ -30,34 +31,30 @@ public class AuthenticationService {
     }
 
     public boolean register(String username, String password) {
-        try {
-            String checkQuery = "SELECT id FROM users WHERE username = ?";
-            PreparedStatement checkStmt = dbManager.getConnection().prepareStatement(checkQuery);
+        String checkQuery = "SELECT id FROM users WHERE username = ?";
+        String insertQuery = "INSERT INTO users (id, username, password_hash, salt) VALUES (?, ?, ?, ?)";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement checkStmt = conn.prepareStatement(checkQuery);
             checkStmt.setString(1, username);
-            ResultSet rs = checkStmt.getResultSet();
-            
-            if (rs != null && rs.next()) {
-                checkStmt.close();
-                return false; // User already exists
+            try (ResultSet rs = checkStmt.executeQuery()) {
+                if (rs.next()) {
+                    return false; // User already exists
+                }
             }
-            checkStmt.close();
 
             String salt = generateSalt();
             String passwordHash = hashPassword(password, salt);
             String userId = UUID.randomUUID().toString();
 
-            String insertQuery = "INSERT INTO users (id, username, password_hash, salt) VALUES (?, ?, ?, ?)";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(insertQuery);
+            PreparedStatement stmt = conn.prepareStatement(insertQuery);
             stmt.setString(1, userId);
             stmt.setString(2, username);
             stmt.setString(3, passwordHash);
             stmt.setString(4, salt);
-            
+
             int result = stmt.executeUpdate();
-            stmt.close();
-            
             return result > 0;
-            
+
         } catch (SQLException e) {
             System.err.println("❌ Registration failed!");
             e.printStackTrace();
@@ -66,28 +63,27 @@ public class AuthenticationService {
     }
 
     public boolean login(String username, String password) {
-        try {
-            String query = "SELECT id, username, password_hash, salt FROM users WHERE username = ?";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+        String query = "SELECT id, username, password_hash, salt FROM users WHERE username = ?";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                String id = rs.getString("id");
-                String dbUsername = rs.getString("username");
-                String dbPasswordHash = rs.getString("password_hash");
-                String dbSalt = rs.getString("salt");
-
-                String passwordHash = hashPassword(password, dbSalt);
-                
-                if (passwordHash.equals(dbPasswordHash)) {
-                    currentUser = new User(id, dbUsername, dbPasswordHash, dbSalt);
-                    stmt.close();
-                    return true;
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    String id = rs.getString("id");
+                    String dbUsername = rs.getString("username");
+                    String dbPasswordHash = rs.getString("password_hash");
+                    String dbSalt = rs.getString("salt");
+
+                    String passwordHash = hashPassword(password, dbSalt);
+
+                    if (passwordHash.equals(dbPasswordHash)) {
+                        currentUser = new User(id, dbUsername, dbPasswordHash, dbSalt);
+                        return true;
+                    }
                 }
             }
-            
-            stmt.close();
+
             return false;
             
         } catch (SQLException e) {
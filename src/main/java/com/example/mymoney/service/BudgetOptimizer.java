@@ -0,0 +1,155 @@
+package com.example.mymoney.service;
+
+import java.util.Arrays;
+
+/**
+ * Chooses which categories to fund in full so that the priority-weighted total is as large as
+ * possible without exceeding the budget (a 0/1 knapsack). Amounts are measured in units of
+ * {@code granularity}; each category's cost is rounded up and the budget down, so a chosen set
+ * never overspends.
+ *
+ * <p>The dynamic program keeps one rolling row of values plus one bit per (category, capacity)
+ * for backtracking. If that would exceed {@code memoryLimitBytes} the unit is coarsened until
+ * it fits. The greedy fractional-knapsack answer is always computed as well and the better of
+ * the two is returned, which covers coarse units losing precision.
+ */
+final class BudgetOptimizer {
+    static final double DEFAULT_GRANULARITY = 1.0;
+    static final long DEFAULT_MEMORY_LIMIT_BYTES = 8L * 1024 * 1024;
+
+    private final double granularity;
+    private final long memoryLimitBytes;
+
+    BudgetOptimizer() {
+        this(DEFAULT_GRANULARITY, DEFAULT_MEMORY_LIMIT_BYTES);
+    }
+
+    BudgetOptimizer(double granularity, long memoryLimitBytes) {
+        if (granularity <= 0) {
+            throw new IllegalArgumentException("Granularity must be positive: " + granularity);
+        }
+        this.granularity = granularity;
+        this.memoryLimitBytes = memoryLimitBytes;
+    }
+
+    /**
+     * Which categories to fund, given each one's cost and priority weight.
+     */
+    boolean[] optimize(double[] costs, double[] priorities, double totalBudget) {
+        int n = costs.length;
+        if (n == 0 || totalBudget < 0) {
+            return new boolean[n];
+        }
+
+        boolean[] greedy = greedy(costs, priorities, totalBudget);
+        boolean[] dynamic = dynamicProgram(costs, priorities, totalBudget, unitFor(n, totalBudget));
+        return value(dynamic, costs, priorities) >= value(greedy, costs, priorities) ? dynamic : greedy;
+    }
+
+    /**
+     * The configured granularity, or a coarser one if the table for it would not fit in memory.
+     * The table needs 8 bytes per capacity cell for the rolling row and n bits per cell for the
+     * decisions.
+     */
+    double unitFor(int n, double totalBudget) {
+        double bytesPerCell = 8 + n / 8.0 + 1;
+        long maxCells = Math.max(2, (long) (memoryLimitBytes / bytesPerCell));
+        double minimumUnit = totalBudget / (maxCells - 1);
+        return Math.max(granularity, minimumUnit);
+    }
+
+    /**
+     * Bytes the dynamic program allocates for {@code n} categories at {@code unit}: the rolling
+     * row, the decision bits and the integer weights.
+     */
+    static long tableBytes(int n, double totalBudget, double unit) {
+        long cells = (long) Math.floor(totalBudget / unit) + 1;
+        long words = (cells + 63) >>> 6;
+        return 8 * cells + 8 * n * words + 4L * n;
+    }
+
+    private static boolean[] dynamicProgram(double[] costs, double[] priorities, double totalBudget, double unit) {
+        int n = costs.length;
+        int capacity = (int) Math.floor(totalBudget / unit);
+        int cells = capacity + 1;
+        int words = (cells + 63) >>> 6;
+
+        double[] best = new double[cells];
+        long[] taken = new long[n * words];
+        int[] weights = new int[n];
+        for (int i = 0; i < n; i++) {
+            double units = Math.ceil(costs[i] / unit);
+            weights[i] = units > capacity ? -1 : (int) units;
+        }
+
+        for (int i = 0; i < n; i++) {
+            int weight = weights[i];
+            if (weight < 0) {
+                continue;
+            }
+            double value = costs[i] * priorities[i];
+            for (int c = capacity; c >= weight; c--) {
+                double candidate = best[c - weight] + value;
+                if (candidate > best[c]) {
+                    best[c] = candidate;
+                    taken[i * words + (c >>> 6)] |= 1L << c;
+                }
+            }
+        }
+
+        boolean[] chosen = new boolean[n];
+        int c = capacity;
+        for (int i = n - 1; i >= 0; i--) {
+            if ((taken[i * words + (c >>> 6)] & (1L << c)) != 0) {
+                chosen[i] = true;
+                c -= weights[i];
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Fractional-knapsack greedy by value per unit cost (the priority), dropping anything that
+     * does not fit, compared against funding the single most valuable category that fits.
+     */
+    private static boolean[] greedy(double[] costs, double[] priorities, double totalBudget) {
+        int n = costs.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> priorities[a] != priorities[b]
+            ? Double.compare(priorities[b], priorities[a])
+            : Double.compare(costs[a], costs[b]));
+
+        boolean[] chosen = new boolean[n];
+        double remaining = totalBudget;
+        int bestSingle = -1;
+        for (int i : order) {
+            if (costs[i] <= remaining) {
+                chosen[i] = true;
+                remaining -= costs[i];
+            }
+            if (costs[i] <= totalBudget
+                && (bestSingle < 0 || costs[i] * priorities[i] > costs[bestSingle] * priorities[bestSingle])) {
+                bestSingle = i;
+            }
+        }
+
+        if (bestSingle >= 0 && costs[bestSingle] * priorities[bestSingle] > value(chosen, costs, priorities)) {
+            chosen = new boolean[n];
+            chosen[bestSingle] = true;
+        }
+        return chosen;
+    }
+
+    private static double value(boolean[] chosen, double[] costs, double[] priorities) {
+        double total = 0;
+        for (int i = 0; i < chosen.length; i++) {
+            if (chosen[i]) {
+                total += costs[i] * priorities[i];
+            }
+        }
+        return total;
+    }
+}
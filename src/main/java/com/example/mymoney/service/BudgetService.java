@@ -1,6 +1,7 @@
 package com.example.mymoney.service;
 
 import com.example.mymoney.database.DatabaseManager;
+import com.example.mymoney.database.PooledConnection;
 import com.example.mymoney.model.Budget;
 import com.example.mymoney.model.Transaction;
 
@@ -8,7 +9,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BudgetService {
     private static BudgetService instance;
@@ -17,10 +19,10 @@ public class BudgetService {
 
     private BudgetService() {
         this.dbManager = DatabaseManager.getInstance();
-        this.budgetCache = new HashMap<>();
+        this.budgetCache = new ConcurrentHashMap<>();
     }
 
-    public static BudgetService getInstance() {
+    public static synchronized BudgetService getInstance() {
         if (instance == null) {
             instance = new BudgetService();
         }
@@ -38,27 +40,33 @@ public class BudgetService {
         return budget;
     }
 
+    public CompletableFuture<Budget> getBudgetAsync(String userId) {
+        return ServiceExecutor.getInstance().supply(() -> getBudget(userId));
+    }
+
+    public CompletableFuture<List<String>> getBudgetRecommendationsAsync(String userId) {
+        return ServiceExecutor.getInstance().supply(() -> getBudgetRecommendations(userId));
+    }
+
     private void loadBudgetFromDatabase(String userId, Budget budget) {
-        try {
-            String overallQuery = "SELECT amount FROM overall_budget WHERE user_id = ?";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(overallQuery);
+        String overallQuery = "SELECT amount FROM overall_budget WHERE user_id = ?";
+        String categoryQuery = "SELECT category, amount FROM budgets WHERE user_id = ?";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(overallQuery);
             stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                budget.setOverallMonthlyBudget(rs.getDouble("amount"));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    budget.setOverallMonthlyBudget(rs.getDouble("amount"));
+                }
             }
-            stmt.close();
 
-            String categoryQuery = "SELECT category, amount FROM budgets WHERE user_id = ?";
-            stmt = dbManager.getConnection().prepareStatement(categoryQuery);
+            stmt = conn.prepareStatement(categoryQuery);
             stmt.setString(1, userId);
-            rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                budget.setCategoryBudget(rs.getString("category"), rs.getDouble("amount"));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    budget.setCategoryBudget(rs.getString("category"), rs.getDouble("amount"));
+                }
             }
-            stmt.close();
 
         } catch (SQLException e) {
             System.err.println("❌ Failed to load budget!");
@@ -67,14 +75,13 @@ public class BudgetService {
     }
 
     public void updateOverallBudget(String userId, double amount) {
-        try {
-            String query = "INSERT INTO overall_budget (user_id, amount) VALUES (?, ?) ON DUPLICATE KEY UPDATE amount = ?";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+        String query = "INSERT INTO overall_budget (user_id, amount) VALUES (?, ?) ON DUPLICATE KEY UPDATE amount = ?";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
             stmt.setDouble(2, amount);
             stmt.setDouble(3, amount);
             stmt.executeUpdate();
-            stmt.close();
 
             Budget budget = getBudget(userId);
             budget.setOverallMonthlyBudget(amount);
@@ -86,15 +93,14 @@ public class BudgetService {
     }
 
     public void updateCategoryBudget(String userId, String category, double amount) {
-        try {
-            String query = "INSERT INTO budgets (user_id, category, amount) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE amount = ?";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+        String query = "INSERT INTO budgets (user_id, category, amount) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE amount = ?";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
             stmt.setString(2, category);
             stmt.setDouble(3, amount);
             stmt.setDouble(4, amount);
             stmt.executeUpdate();
-            stmt.close();
 
             Budget budget = getBudget(userId);
             budget.setCategoryBudget(category, amount);
@@ -111,14 +117,8 @@ public class BudgetService {
      */
     public Map<String, Double> findOptimalBudgetAllocation(String userId, double totalBudget) {
         com.example.mymoney.service.DataService dataService = com.example.mymoney.service.DataService.getInstance();
-        List<Transaction> transactions = dataService.getTransactionsForUser(userId);
-        
-        Map<String, Double> historicalSpending = transactions.stream()
-            .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-            .collect(Collectors.groupingBy(
-                Transaction::getCategory,
-                Collectors.summingDouble(Transaction::getAmount)
-            ));
+        Map<String, Double> historicalSpending =
+            dataService.getCategoryTotals(userId, Transaction.TransactionType.EXPENSE);
         
         if (historicalSpending.isEmpty()) {
             return new HashMap<>();
@@ -142,61 +142,20 @@ public class BudgetService {
     }
     
     /**
-     * Use Graph algorithms to analyze spending patterns
+     * Use Union-Find over the same-day co-occurrence index to analyze spending patterns
      */
     public Map<String, Integer> analyzeSpendingPatterns(String userId) {
-        com.example.mymoney.service.DataService dataService = com.example.mymoney.service.DataService.getInstance();
-        List<Transaction> transactions = dataService.getTransactionsForUser(userId);
-        
-        Map<String, List<String>> spendingGraph = dataService.buildSpendingGraph(transactions);
-        
-        Map<String, Integer> categoryConnections = new HashMap<>();
-        
-        for (String category : spendingGraph.keySet()) {
-            int connections = bfsCountConnections(spendingGraph, category);
-            categoryConnections.put(category, connections);
-        }
-        
-        return categoryConnections;
-    }
-    
-    private int bfsCountConnections(Map<String, List<String>> graph, String startCategory) {
-        Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
-        int connections = 0;
-        
-        queue.offer(startCategory);
-        visited.add(startCategory);
-        
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            connections++;
-            
-            List<String> neighbors = graph.getOrDefault(current, new ArrayList<>());
-            for (String neighbor : neighbors) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.offer(neighbor);
-                }
-            }
-        }
-        
-        return connections - 1; // Subtract 1 to exclude the starting category itself
+        return com.example.mymoney.service.DataService.getInstance().getSpendingPatterns(userId);
     }
     
     /**
-     * Use Dynamic Programming for budget optimization
+     * Use Dynamic Programming for budget optimization, within the memory ceiling of
+     * {@link BudgetOptimizer}
      */
     public Map<String, Double> optimizeBudgetWithDP(String userId, double totalBudget, Map<String, Double> priorities) {
         com.example.mymoney.service.DataService dataService = com.example.mymoney.service.DataService.getInstance();
-        List<Transaction> transactions = dataService.getTransactionsForUser(userId);
-        
-        Map<String, Double> historicalSpending = transactions.stream()
-            .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-            .collect(Collectors.groupingBy(
-                Transaction::getCategory,
-                Collectors.summingDouble(Transaction::getAmount)
-            ));
+        Map<String, Double> historicalSpending =
+            dataService.getCategoryTotals(userId, Transaction.TransactionType.EXPENSE);
         
         List<String> categories = new ArrayList<>(historicalSpending.keySet());
         double[] historical = categories.stream()
@@ -206,39 +165,11 @@ public class BudgetService {
             .mapToDouble(cat -> priorities.getOrDefault(cat, 1.0))
             .toArray();
         
-        return solveBudgetDP(categories, historical, priorityWeights, totalBudget);
-    }
-    
-    private Map<String, Double> solveBudgetDP(List<String> categories, double[] historical, double[] priorities, double totalBudget) {
-        int n = categories.size();
-        double[][] dp = new double[n + 1][(int) totalBudget + 1];
-        
-        for (int i = 1; i <= n; i++) {
-            for (int budget = 0; budget <= totalBudget; budget++) {
-                dp[i][budget] = dp[i - 1][budget];
-                
-                int historicalAmount = (int) historical[i - 1];
-                if (budget >= historicalAmount) {
-                    double value = historicalAmount * priorities[i - 1];
-                    dp[i][budget] = Math.max(dp[i][budget], dp[i - 1][budget - historicalAmount] + value);
-                }
-            }
-        }
-        
+        boolean[] funded = new BudgetOptimizer().optimize(historical, priorityWeights, totalBudget);
         Map<String, Double> result = new HashMap<>();
-        int budget = (int) totalBudget;
-        
-        for (int i = n; i > 0; i--) {
-            int historicalAmount = (int) historical[i - 1];
-            if (budget >= historicalAmount && 
-                dp[i][budget] == dp[i - 1][budget - historicalAmount] + historicalAmount * priorities[i - 1]) {
-                result.put(categories.get(i - 1), (double) historicalAmount);
-                budget -= historicalAmount;
-            } else {
-                result.put(categories.get(i - 1), 0.0);
-            }
+        for (int i = 0; i < categories.size(); i++) {
+            result.put(categories.get(i), funded[i] ? historical[i] : 0.0);
         }
-        
         return result;
     }
     
@@ -0,0 +1,136 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+
+import java.util.*;
+
+/**
+ * Prefix trie over the categories a user has used, counting how often each one occurs so
+ * completions can be ranked by usage. Keys are case-folded; the first spelling seen is the one
+ * returned. One trie covers every type and one more is kept per transaction type.
+ *
+ * <p>Every node caches the {@link #TOP_K} best-ranked categories below it. Counts only grow, so
+ * an insert just offers its category to the nodes on its path, and a completion of up to
+ * {@code TOP_K} results is read straight off the prefix node.
+ */
+final class CategoryTrie implements LedgerIndex {
+
+    // The add-transaction dialog shows ten suggestions
+    static final int TOP_K = 10;
+
+    private static final Comparator<Node> RANK = Comparator.comparingInt((Node n) -> n.count).reversed()
+        .thenComparing(n -> n.category, String.CASE_INSENSITIVE_ORDER);
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>(4);
+        String category;
+        int count;
+        // Best-ranked categories in this subtree, in RANK order
+        Node[] top;
+        int topSize;
+
+        void offer(Node leaf) {
+            if (top == null) {
+                top = new Node[TOP_K];
+            }
+            int index = 0;
+            while (index < topSize && top[index] != leaf) {
+                index++;
+            }
+            if (index == topSize) {
+                if (topSize < TOP_K) {
+                    topSize++;
+                } else if (RANK.compare(leaf, top[TOP_K - 1]) < 0) {
+                    index = TOP_K - 1;
+                } else {
+                    return;
+                }
+                top[index] = leaf;
+            }
+            // The leaf's count only went up, so it can only move towards the front
+            for (; index > 0 && RANK.compare(top[index], top[index - 1]) < 0; index--) {
+                Node swap = top[index];
+                top[index] = top[index - 1];
+                top[index - 1] = swap;
+            }
+        }
+    }
+
+    private final ColumnarLedger rows;
+    private final Node allTypes = new Node();
+    private final Map<Transaction.TransactionType, Node> byType = new EnumMap<>(Transaction.TransactionType.class);
+
+    CategoryTrie(ColumnarLedger rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void add(int docId) {
+        String category = rows.category(docId);
+        if (category == null || category.isBlank()) {
+            return;
+        }
+        insert(allTypes, category);
+        insert(byType.computeIfAbsent(rows.type(docId), type -> new Node()), category);
+    }
+
+    private static void insert(Node root, String category) {
+        String key = category.toLowerCase(Locale.ROOT);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        Node leaf = path[key.length()];
+        if (leaf.category == null) {
+            leaf.category = category;
+        }
+        leaf.count++;
+        for (Node node : path) {
+            node.offer(leaf);
+        }
+    }
+
+    /**
+     * Categories starting with {@code prefix} (ignoring case), most used first, at most
+     * {@code limit} of them. {@code type} may be null to search every type. Up to
+     * {@link #TOP_K} results cost only the prefix length; larger limits sort the whole subtree.
+     */
+    List<String> complete(String prefix, Transaction.TransactionType type, int limit) {
+        Node node = type == null ? allTypes : byType.get(type);
+        String key = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return List.of();
+        }
+        if (limit <= TOP_K) {
+            List<String> result = new ArrayList<>(Math.min(limit, node.topSize));
+            for (int i = 0; i < node.topSize && i < limit; i++) {
+                result.add(node.top[i].category);
+            }
+            return result;
+        }
+
+        List<Node> found = new ArrayList<>();
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            if (current.category != null) {
+                found.add(current);
+            }
+            for (Node child : current.children.values()) {
+                stack.push(child);
+            }
+        }
+
+        found.sort(RANK);
+        List<String> result = new ArrayList<>(Math.min(limit, found.size()));
+        for (int i = 0; i < found.size() && i < limit; i++) {
+            result.add(found.get(i).category);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.CategoryDictionary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Weighted same-day category co-occurrence for one user, kept up to date on every insert. The
+ * weight between two categories is the number of pairs of transactions that share a day, one
+ * from each; a category paired with itself counts the pairs within it. Each day keeps a bitset
+ * of the categories seen on it plus their counts, so an insert costs O(categories on that day)
+ * rather than revisiting the day's transactions. Days live in an array offset by
+ * {@code origin}, grown with slack like {@link FenwickIndex}'s series.
+ *
+ * <p>Categories joined by any positive weight are merged in a union-find, giving the connected
+ * components without a graph traversal. Category ids are the local ids of the user's
+ * {@link ColumnarLedger}.
+ */
+final class CoOccurrenceIndex implements LedgerIndex {
+
+    private static final class Day {
+        final BitSet present = new BitSet();
+        int[] counts = new int[0];
+    }
+
+    private final ColumnarLedger rows;
+    private int origin;
+    private Day[] days = new Day[0];
+    private long[][] weights = new long[0][];
+    private final BitSet paired = new BitSet();
+
+    private int[] parent = new int[0];
+    private int[] componentSize = new int[0];
+
+    CoOccurrenceIndex(ColumnarLedger rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void add(int docId) {
+        int category = rows.categoryId(docId);
+        if (category == CategoryDictionary.NO_CATEGORY) {
+            return;
+        }
+        grow(rows.categoryCount());
+        Day day = day(rows.epochDay(docId));
+        if (category >= day.counts.length) {
+            day.counts = Arrays.copyOf(day.counts, Math.max(category + 1, rows.categoryCount()));
+        }
+
+        for (int other = day.present.nextSetBit(0); other >= 0; other = day.present.nextSetBit(other + 1)) {
+            long pairs = day.counts[other];
+            weights[category][other] += pairs;
+            if (other != category) {
+                weights[other][category] += pairs;
+                union(category, other);
+            }
+            paired.set(category);
+            paired.set(other);
+        }
+        day.counts[category]++;
+        day.present.set(category);
+    }
+
+    private Day day(int epochDay) {
+        if (days.length == 0) {
+            origin = epochDay;
+        }
+        if (epochDay < origin || epochDay >= origin + days.length) {
+            int start = origin;
+            int end = origin + days.length;
+            int slack = Math.max(32, days.length >> 1);
+            if (epochDay < start) {
+                start = epochDay - slack;
+            } else {
+                end = epochDay + 1 + slack;
+            }
+            Day[] grown = new Day[end - start];
+            System.arraycopy(days, 0, grown, origin - start, days.length);
+            origin = start;
+            days = grown;
+        }
+        int index = epochDay - origin;
+        if (days[index] == null) {
+            days[index] = new Day();
+        }
+        return days[index];
+    }
+
+    private void grow(int categories) {
+        int oldCount = weights.length;
+        if (categories <= oldCount) {
+            return;
+        }
+        int capacity = Math.max(categories, oldCount * 2);
+        weights = Arrays.copyOf(weights, capacity);
+        for (int i = 0; i < capacity; i++) {
+            weights[i] = weights[i] == null ? new long[capacity] : Arrays.copyOf(weights[i], capacity);
+        }
+        parent = Arrays.copyOf(parent, capacity);
+        componentSize = Arrays.copyOf(componentSize, capacity);
+        for (int i = oldCount; i < capacity; i++) {
+            parent[i] = i;
+            componentSize[i] = 1;
+        }
+    }
+
+    private int find(int category) {
+        while (parent[category] != category) {
+            parent[category] = parent[parent[category]];
+            category = parent[category];
+        }
+        return category;
+    }
+
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (componentSize[rootA] < componentSize[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        componentSize[rootA] += componentSize[rootB];
+    }
+
+    int categoryCount() {
+        return rows.categoryCount();
+    }
+
+    String categoryName(int category) {
+        return rows.categoryName(category);
+    }
+
+    long weight(int a, int b) {
+        return weights[a][b];
+    }
+
+    /**
+     * True if the category shared a day with at least one other transaction.
+     */
+    boolean isPaired(int category) {
+        return paired.get(category);
+    }
+
+    /**
+     * Other categories that have shared a day with {@code category}, each listed once.
+     */
+    IntList neighbours(int category) {
+        IntList result = new IntList();
+        for (int other = 0; other < categoryCount(); other++) {
+            if (other != category && weights[category][other] > 0) {
+                result.add(other);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of categories in the same connected component as {@code category}, itself included.
+     */
+    int componentSize(int category) {
+        return componentSize[find(category)];
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.CategoryDictionary;
+import com.example.mymoney.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * One user's transactions stored column by column: amounts in cents, epoch days, type ordinals
+ * and category ids in primitive arrays, with ids and notes in side arrays, all indexed by
+ * document id. This is the only per-user copy of the rows; the {@link LedgerIndex}es attached
+ * to a {@link UserLedger} read from it, and {@link Transaction}s are built on demand.
+ *
+ * <p>Category ids are local to this user (see {@link LocalCategories}), so per-category arrays
+ * stay small, and a scan touches a few bytes per row and allocates nothing per row.
+ */
+final class ColumnarLedger {
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final String userId;
+    private String[] ids = new String[64];
+    private String[] notes = new String[64];
+    private long[] amountCents = new long[64];
+    private int[] epochDay = new int[64];
+    private byte[] type = new byte[64];
+    private int[] categoryId = new int[64];
+    private int size;
+
+    private final LocalCategories categories = new LocalCategories();
+
+    ColumnarLedger(String userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Appends {@code transaction} and returns its document id.
+     */
+    int add(Transaction transaction) {
+        if (size == amountCents.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            notes = Arrays.copyOf(notes, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            epochDay = Arrays.copyOf(epochDay, capacity);
+            type = Arrays.copyOf(type, capacity);
+            categoryId = Arrays.copyOf(categoryId, capacity);
+        }
+        int docId = size++;
+        ids[docId] = transaction.getId();
+        notes[docId] = transaction.getNotes();
+        amountCents[docId] = toCents(transaction.getAmount());
+        epochDay[docId] = (int) transaction.getDate().toEpochDay();
+        type[docId] = (byte) transaction.getType().ordinal();
+        categoryId[docId] = categories.localId(transaction.getCategoryId());
+        return docId;
+    }
+
+    static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * A new {@link Transaction} holding the row's values.
+     */
+    Transaction transaction(int docId) {
+        return new Transaction(ids[docId], userId, type(docId), amountCents[docId] / 100.0,
+            category(docId), notes[docId], LocalDate.ofEpochDay(epochDay[docId]));
+    }
+
+    long amountCents(int docId) {
+        return amountCents[docId];
+    }
+
+    int epochDay(int docId) {
+        return epochDay[docId];
+    }
+
+    Transaction.TransactionType type(int docId) {
+        return TYPES[type[docId]];
+    }
+
+    /**
+     * The row's local category id, or {@link CategoryDictionary#NO_CATEGORY}.
+     */
+    int categoryId(int docId) {
+        return categoryId[docId];
+    }
+
+    String category(int docId) {
+        return categories.name(categoryId[docId]);
+    }
+
+    String notes(int docId) {
+        return notes[docId];
+    }
+
+    int categoryCount() {
+        return categories.size();
+    }
+
+    String categoryName(int id) {
+        return categories.name(id);
+    }
+
+    /**
+     * Total cents of {@code txType} per category id.
+     */
+    long[] categoryTotals(Transaction.TransactionType txType) {
+        long[] totals = new long[categories.size()];
+        byte wanted = (byte) txType.ordinal();
+        for (int i = 0; i < size; i++) {
+            if (type[i] == wanted && categoryId[i] != CategoryDictionary.NO_CATEGORY) {
+                totals[categoryId[i]] += amountCents[i];
+            }
+        }
+        return totals;
+    }
+}
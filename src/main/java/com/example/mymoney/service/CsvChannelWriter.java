@@ -0,0 +1,190 @@
+package com.example.mymoney.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Buffered CSV writer on top of a {@link FileChannel}. Numbers and dates are formatted by hand
+ * straight into the byte buffer, so writing a row allocates nothing for ASCII content.
+ */
+public class CsvChannelWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean firstField = true;
+
+    public CsvChannelWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes a field as-is, quoting it only if it contains a comma, quote or line break.
+     */
+    public CsvChannelWriter field(String value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (needsQuoting(value)) {
+            writeQuotedText(value);
+        } else {
+            writeText(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a field that is always wrapped in quotes, with embedded quotes doubled.
+     */
+    public CsvChannelWriter quotedField(String value) throws IOException {
+        separator();
+        writeQuotedText(value == null ? "" : value);
+        return this;
+    }
+
+    /**
+     * Writes an amount held in cents as {@code [-]units.cc}.
+     */
+    public CsvChannelWriter centsField(long cents) throws IOException {
+        separator();
+        ensureCapacity(24);
+        if (cents < 0) {
+            buffer.put((byte) '-');
+            cents = -cents;
+        }
+        writeDigits(cents / 100, 1);
+        buffer.put((byte) '.');
+        writeDigits(cents % 100, 2);
+        return this;
+    }
+
+    /**
+     * Writes an ISO {@code yyyy-MM-dd} date.
+     */
+    public CsvChannelWriter dateField(LocalDate date) throws IOException {
+        separator();
+        ensureCapacity(16);
+        writeDigits(date.getYear(), 4);
+        buffer.put((byte) '-');
+        writeDigits(date.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        writeDigits(date.getDayOfMonth(), 2);
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        ensureCapacity(1);
+        buffer.put((byte) '\n');
+        firstField = true;
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void separator() throws IOException {
+        if (!firstField) {
+            ensureCapacity(1);
+            buffer.put((byte) ',');
+        }
+        firstField = false;
+    }
+
+    private void writeQuotedText(String value) throws IOException {
+        ensureCapacity(1);
+        buffer.put((byte) '"');
+        if (value.indexOf('"') >= 0) {
+            writeText(value.replace("\"", "\"\""));
+        } else {
+            writeText(value);
+        }
+        ensureCapacity(1);
+        buffer.put((byte) '"');
+    }
+
+    private void writeText(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+
+        int offset = 0;
+        while (offset < length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(buffer.remaining(), length - offset);
+            for (int i = 0; i < chunk; i++) {
+                buffer.put((byte) value.charAt(offset + i));
+            }
+            offset += chunk;
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    private void writeDigits(long value, int minWidth) {
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < minWidth; i++) {
+            buffer.put((byte) '0');
+        }
+        int end = buffer.position() + digits;
+        for (int pos = end - 1; pos >= end - digits; pos--) {
+            buffer.put(pos, (byte) ('0' + (value % 10)));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,457 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.BatchInsertResult;
+import com.example.mymoney.model.ImportProgress;
+import com.example.mymoney.model.ImportResult;
+import com.example.mymoney.model.Transaction;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Imports transactions from the {@code Date,Type,Category,Amount,Notes} CSV format written by
+ * {@link DataService#exportToCSV}.
+ *
+ * The file is streamed through three stages connected by bounded queues: a parser thread
+ * splits records, a validator thread turns them into {@link Transaction}s, and the calling
+ * thread writes each chunk with {@link DataService#addTransactions}. When the database falls
+ * behind, the queues fill up and the parser blocks, so memory stays at roughly
+ * {@code chunkSize * queueCapacity} rows however large the file is.
+ */
+public class CsvTransactionImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final double MAX_AMOUNT = 99_999_999.99;
+    private static final long POLL_MILLIS = 100;
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final DataService dataService;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private volatile boolean cancelled;
+
+    /**
+     * {@code unterminated} marks a record whose quoted field was still open at the end of the
+     * file; it is rejected rather than imported with the rest of the file in its last field.
+     */
+    private record RawRecord(long lineNumber, String[] fields, boolean unterminated) {
+    }
+
+    public CsvTransactionImporter(DataService dataService) {
+        this(dataService, DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public CsvTransactionImporter(DataService dataService, int chunkSize, int queueCapacity) {
+        if (chunkSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Chunk size and queue capacity must be positive");
+        }
+        this.dataService = dataService;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Stops a running import after the chunk currently being written. Rows already committed
+     * stay in the database.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public ImportResult importFile(String userId, Path file, Consumer<ImportProgress> progressListener) throws IOException {
+        cancelled = false;
+        return new Run(userId, file, progressListener).execute();
+    }
+
+    /**
+     * State of one import. The counters are written by different pipeline threads and read by
+     * the writer when it publishes progress.
+     */
+    private final class Run {
+        private final List<RawRecord> rawEnd = new ArrayList<>();
+        private final List<Transaction> validEnd = new ArrayList<>();
+
+        private final String userId;
+        private final Path file;
+        private final Consumer<ImportProgress> progressListener;
+        private final BlockingQueue<List<RawRecord>> parsedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<List<Transaction>> validQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private long rowsImported;
+        private long rowsFailed;
+        private final long totalBytes;
+        private CountingInputStream input;
+        private long startTime;
+
+        Run(String userId, Path file, Consumer<ImportProgress> progressListener) throws IOException {
+            this.userId = userId;
+            this.file = file;
+            this.progressListener = progressListener;
+            this.totalBytes = Files.size(file);
+        }
+
+        ImportResult execute() throws IOException {
+            startTime = System.nanoTime();
+            input = new CountingInputStream(Files.newInputStream(file));
+
+            Thread parser = new Thread(this::parse, "csv-import-parser");
+            Thread validator = new Thread(this::validate, "csv-import-validator");
+            parser.setDaemon(true);
+            validator.setDaemon(true);
+            parser.start();
+            validator.start();
+
+            try {
+                write();
+            } finally {
+                parser.interrupt();
+                validator.interrupt();
+                joinQuietly(parser);
+                joinQuietly(validator);
+                input.close();
+            }
+
+            Throwable error = failure.get();
+            if (error instanceof IOException ioError) {
+                throw ioError;
+            } else if (error != null) {
+                throw new IOException("CSV import failed: " + error.getMessage(), error);
+            }
+
+            ImportProgress progress = snapshot();
+            if (progressListener != null) {
+                progressListener.accept(progress);
+            }
+            return new ImportResult(progress, errors, cancelled);
+        }
+
+        private void parse() {
+            try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+                CsvRecordReader records = new CsvRecordReader(reader);
+                List<RawRecord> chunk = new ArrayList<>(chunkSize);
+                boolean first = true;
+                String[] fields;
+
+                while ((fields = records.next()) != null) {
+                    if (first) {
+                        first = false;
+                        // Excel and Notepad save UTF-8 with a byte order mark; the decoder keeps it as U+FEFF
+                        if (fields.length > 0 && fields[0].startsWith(BYTE_ORDER_MARK)) {
+                            fields[0] = fields[0].substring(1);
+                        }
+                        if (fields.length > 0 && fields[0].trim().equalsIgnoreCase("Date")) {
+                            continue;
+                        }
+                    }
+                    rowsRead.incrementAndGet();
+                    chunk.add(new RawRecord(records.getRecordLine(), fields, records.endedInQuotes()));
+                    if (chunk.size() == chunkSize) {
+                        if (!offer(parsedQueue, chunk)) {
+                            return;
+                        }
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+
+                if (!chunk.isEmpty() && !offer(parsedQueue, chunk)) {
+                    return;
+                }
+                offer(parsedQueue, rawEnd);
+            } catch (IOException | RuntimeException e) {
+                // Interrupting the parser after a cancel closes the channel; that is not an error
+                if (!cancelled) {
+                    failure.compareAndSet(null, e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void validate() {
+            try {
+                while (true) {
+                    List<RawRecord> rawChunk = parsedQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (rawChunk == null) {
+                        if (isStopped()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    if (rawChunk == rawEnd) {
+                        offer(validQueue, validEnd);
+                        return;
+                    }
+
+                    List<Transaction> valid = new ArrayList<>(rawChunk.size());
+                    for (RawRecord record : rawChunk) {
+                        try {
+                            valid.add(toTransaction(record));
+                        } catch (RuntimeException e) {
+                            rowsRejected.incrementAndGet();
+                            addError("Line " + record.lineNumber() + ": " + e.getMessage());
+                        }
+                    }
+                    if (!valid.isEmpty() && !offer(validQueue, valid)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        private void write() {
+            try {
+                while (true) {
+                    List<Transaction> chunk = validQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (chunk == null) {
+                        if (isStopped()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    if (chunk == validEnd) {
+                        return;
+                    }
+
+                    BatchInsertResult result = dataService.addTransactions(chunk, chunk.size());
+                    rowsImported += result.getInsertedRows();
+                    rowsFailed += result.getFailedRows();
+                    for (BatchInsertResult.ChunkFailure chunkFailure : result.getFailures()) {
+                        addError("Batch of " + chunkFailure.rowCount() + " rows failed: " + chunkFailure.message());
+                    }
+
+                    if (progressListener != null) {
+                        progressListener.accept(snapshot());
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            }
+        }
+
+        private Transaction toTransaction(RawRecord record) {
+            if (record.unterminated()) {
+                throw new IllegalArgumentException("quoted field is not closed before the end of the file");
+            }
+            String[] fields = record.fields();
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("expected 5 columns but found " + fields.length);
+            }
+
+            LocalDate date = LocalDate.parse(fields[0].trim());
+            Transaction.TransactionType type = Transaction.TransactionType.valueOf(fields[1].trim().toUpperCase(Locale.ROOT));
+
+            String category = fields[2].trim();
+            if (category.isEmpty() || category.length() > Transaction.MAX_CATEGORY_LENGTH) {
+                throw new IllegalArgumentException("category must be 1-" + Transaction.MAX_CATEGORY_LENGTH + " characters");
+            }
+
+            double amount = Double.parseDouble(fields[3].trim());
+            if (!(amount > 0) || amount > MAX_AMOUNT) {
+                throw new IllegalArgumentException("amount out of range: " + fields[3].trim());
+            }
+
+            String notes = fields[4].isBlank() ? null : fields[4];
+            return new Transaction(userId, type, amount, category, notes, date);
+        }
+
+        private <T> boolean offer(BlockingQueue<T> queue, T item) throws InterruptedException {
+            while (!isStopped()) {
+                if (queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isStopped() {
+            return cancelled || failure.get() != null;
+        }
+
+        private void addError(String message) {
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(message);
+                }
+            }
+        }
+
+        private ImportProgress snapshot() {
+            return new ImportProgress(rowsRead.get(), rowsImported, rowsRejected.get(), rowsFailed,
+                input.getCount(), totalBytes, System.nanoTime() - startTime);
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 record reader: quoted fields may contain commas, doubled quotes and
+     * line breaks. Blank lines are skipped.
+     */
+    private static final class CsvRecordReader {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> fields = new ArrayList<>(5);
+        private int position;
+        private int limit;
+        private long line = 1;
+        private long recordLine;
+        private boolean endedInQuotes;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        long getRecordLine() {
+            return recordLine;
+        }
+
+        /**
+         * True when the file ended inside a quoted field of the last record returned.
+         */
+        boolean endedInQuotes() {
+            return endedInQuotes;
+        }
+
+        String[] next() throws IOException {
+            while (true) {
+                fields.clear();
+                field.setLength(0);
+                recordLine = line;
+                boolean inQuotes = false;
+                boolean sawData = false;
+                int c;
+
+                while ((c = read()) != -1) {
+                    sawData = true;
+                    if (inQuotes) {
+                        if (c == '"') {
+                            if (peek() == '"') {
+                                read();
+                                field.append('"');
+                            } else {
+                                inQuotes = false;
+                            }
+                        } else {
+                            if (c == '\n') {
+                                line++;
+                            }
+                            field.append((char) c);
+                        }
+                    } else if (c == '"') {
+                        inQuotes = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '\n') {
+                        line++;
+                        break;
+                    } else if (c != '\r') {
+                        field.append((char) c);
+                    }
+                }
+
+                if (!sawData) {
+                    return null;
+                }
+                endedInQuotes = inQuotes;
+                fields.add(field.toString());
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                return fields.toArray(new String[0]);
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        private boolean fill() throws IOException {
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
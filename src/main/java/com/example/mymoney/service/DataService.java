@@ -1,80 +1,224 @@
 package com.example.mymoney.service;
 
 import com.example.mymoney.database.DatabaseManager;
+import com.example.mymoney.database.PooledConnection;
+import com.example.mymoney.model.BatchInsertResult;
+import com.example.mymoney.model.CategoryDictionary;
+import com.example.mymoney.model.DashboardSnapshot;
+import com.example.mymoney.model.DateRange;
 import com.example.mymoney.model.FinancialMetrics;
+import com.example.mymoney.model.PageCursor;
+import com.example.mymoney.model.ReportModel;
 import com.example.mymoney.model.Transaction;
+import com.example.mymoney.model.TransactionPage;
+import com.example.mymoney.model.TransactionSort;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class DataService {
-    private static DataService instance;
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+
+    // Connector/J streams rows one at a time instead of buffering the whole result set
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final double SUGGESTED_BUDGET_TOTAL = 5000.0;
+
+    private static final String INSERT_TRANSACTION_SQL =
+        "INSERT INTO transactions (id, user_id, type, amount, category, notes, transaction_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String PAGE_COLUMNS =
+        "SELECT id, type, amount, category, notes, transaction_date, created_at FROM transactions WHERE user_id = ?";
+    private static final String PAGE_ORDER = " ORDER BY transaction_date DESC, created_at DESC, id DESC LIMIT ?";
+    static final String FIRST_PAGE_SQL = PAGE_COLUMNS + PAGE_ORDER;
+    static final String NEXT_PAGE_SQL = PAGE_COLUMNS
+        + " AND (transaction_date < ? OR (transaction_date = ? AND (created_at < ? OR (created_at = ? AND id < ?))))"
+        + PAGE_ORDER;
+
+    // Period queries: whole months read monthly_rollup, other ranges are index range scans on
+    // idx_user_type_date. Package-private so the query-plan test can EXPLAIN the exact SQL.
+    static final String CATEGORY_SPENDING_ROLLUP_SQL =
+        "SELECT category, SUM(total) as total FROM monthly_rollup WHERE user_id = ? AND type = 'EXPENSE' AND `year_month` >= ? AND `year_month` < ? GROUP BY category";
+    static final String CATEGORY_SPENDING_RANGE_SQL =
+        "SELECT category, SUM(amount) as total FROM transactions WHERE user_id = ? AND type = 'EXPENSE' AND transaction_date >= ? AND transaction_date < ? GROUP BY category";
+    static final String EXPENSE_TOTAL_ROLLUP_SQL =
+        "SELECT SUM(total) as total FROM monthly_rollup WHERE user_id = ? AND type = 'EXPENSE' AND `year_month` >= ? AND `year_month` < ?";
+    static final String EXPENSE_TOTAL_RANGE_SQL =
+        "SELECT SUM(amount) as total FROM transactions WHERE user_id = ? AND type = 'EXPENSE' AND transaction_date >= ? AND transaction_date < ?";
+    static final String MONTHLY_TOTALS_RANGE_SQL =
+        "SELECT YEAR(transaction_date) as year, MONTH(transaction_date) as month, SUM(amount) as total FROM transactions WHERE user_id = ? AND type = ?"
+        + " AND transaction_date >= ? AND transaction_date < ?"
+        + " GROUP BY YEAR(transaction_date), MONTH(transaction_date) ORDER BY year, month";
+
+    private static final int MAX_FUZZY_EDITS = 3;
+    private static final int MAX_FUZZY_RESULTS = 200;
+
+    // Partitions smaller than this are finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private static volatile DataService instance;
+    // Construction does database I/O; a ReentrantLock parks waiting virtual threads instead of pinning them
+    private static final ReentrantLock INSTANCE_LOCK = new ReentrantLock();
     private final DatabaseManager dbManager;
+    private final DataVersions versions = new DataVersions();
+    private final ServiceExecutor executor = ServiceExecutor.getInstance();
+    private final VersionedCache<MonthlyRollup.Summary> rollupCache = new VersionedCache<>();
+    private final VersionedCache<DashboardSnapshot> dashboardCache = new VersionedCache<>();
+    private final VersionedCache<ReportModel> reportCache = new VersionedCache<>();
+    private final LedgerRegistry ledgers = new LedgerRegistry(this::getTransactionsForUser);
 
     private DataService() {
         this.dbManager = DatabaseManager.getInstance();
+        backfillMonthlyRollup();
     }
 
     public static DataService getInstance() {
-        if (instance == null) {
-            instance = new DataService();
+        DataService service = instance;
+        if (service == null) {
+            INSTANCE_LOCK.lock();
+            try {
+                service = instance;
+                if (service == null) {
+                    service = new DataService();
+                    instance = service;
+                }
+            } finally {
+                INSTANCE_LOCK.unlock();
+            }
         }
-        return instance;
+        return service;
     }
 
-    public void addTransaction(Transaction transaction) {
-        try {
-            String query = "INSERT INTO transactions (id, user_id, type, amount, category, notes, transaction_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
-            
-            stmt.setString(1, transaction.getId());
-            stmt.setString(2, transaction.getUserId());
-            stmt.setString(3, transaction.getType().name());
-            stmt.setDouble(4, transaction.getAmount());
-            stmt.setString(5, transaction.getCategory());
-            stmt.setString(6, transaction.getNotes());
-            stmt.setDate(7, java.sql.Date.valueOf(transaction.getDate()));
-            
+    /**
+     * Inserts one transaction and returns whether it was committed. The ledger indexes (and
+     * with them category suggestions) only see the row once the commit has succeeded.
+     */
+    public boolean addTransaction(Transaction transaction) {
+        try (PooledConnection conn = dbManager.getConnection()) {
+            conn.getConnection().setAutoCommit(false);
+            PreparedStatement stmt = conn.prepareStatement(INSERT_TRANSACTION_SQL);
+            bindTransaction(stmt, transaction);
             stmt.executeUpdate();
-            stmt.close();
-            
+            MonthlyRollup.apply(conn, List.of(transaction));
+            conn.getConnection().commit();
+            versions.bump(transaction.getUserId());
+            ledgers.append(List.of(transaction));
+            return true;
         } catch (SQLException e) {
             System.err.println("❌ Failed to add transaction!");
             e.printStackTrace();
+            return false;
         }
     }
 
+    public BatchInsertResult addTransactions(Collection<Transaction> transactions) {
+        return addTransactions(transactions, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Bulk insert using JDBC batching. Rows are sent in chunks of {@code chunkSize}; each chunk
+     * is one multi-row INSERT (rewriteBatchedStatements) committed together with its rollup
+     * updates as its own transaction, so a bad row only rolls back its chunk. Failed chunks are
+     * reported in the result.
+     */
+    public BatchInsertResult addTransactions(Collection<Transaction> transactions, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        long startTime = System.nanoTime();
+        int inserted = 0;
+        int chunkIndex = 0;
+        int firstRow = 0;
+        List<BatchInsertResult.ChunkFailure> failures = new ArrayList<>();
+        List<Transaction> chunk = new ArrayList<>(Math.min(chunkSize, transactions.size()));
+
+        try (PooledConnection conn = dbManager.getConnection()) {
+            conn.getConnection().setAutoCommit(false);
+            PreparedStatement stmt = conn.prepareStatement(INSERT_TRANSACTION_SQL);
+
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    if (insertChunk(conn, stmt, chunk, chunkIndex, firstRow, failures)) {
+                        inserted += chunk.size();
+                    }
+                    chunkIndex++;
+                    firstRow += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Failed to add transactions!");
+            e.printStackTrace();
+            failures.add(new BatchInsertResult.ChunkFailure(chunkIndex, firstRow,
+                transactions.size() - firstRow, e.getMessage()));
+        }
+
+        return new BatchInsertResult(transactions.size(), inserted, failures, System.nanoTime() - startTime);
+    }
+
+    private boolean insertChunk(PooledConnection conn, PreparedStatement stmt, List<Transaction> chunk,
+                                int chunkIndex, int firstRow, List<BatchInsertResult.ChunkFailure> failures) {
+        try {
+            for (Transaction transaction : chunk) {
+                bindTransaction(stmt, transaction);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            MonthlyRollup.apply(conn, chunk);
+            conn.getConnection().commit();
+            chunk.stream().map(Transaction::getUserId).distinct().forEach(versions::bump);
+            ledgers.append(chunk);
+            return true;
+        } catch (SQLException e) {
+            failures.add(new BatchInsertResult.ChunkFailure(chunkIndex, firstRow, chunk.size(), e.getMessage()));
+            try {
+                stmt.clearBatch();
+                conn.getConnection().rollback();
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            System.err.println("❌ Failed to insert transaction chunk " + chunkIndex + "!");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private void bindTransaction(PreparedStatement stmt, Transaction transaction) throws SQLException {
+        stmt.setString(1, transaction.getId());
+        stmt.setString(2, transaction.getUserId());
+        stmt.setString(3, transaction.getType().name());
+        stmt.setDouble(4, transaction.getAmount());
+        stmt.setString(5, transaction.getCategory());
+        stmt.setString(6, transaction.getNotes());
+        stmt.setDate(7, java.sql.Date.valueOf(transaction.getDate()));
+    }
+
     public List<Transaction> getTransactionsForUser(String userId) {
         List<Transaction> transactions = new ArrayList<>();
-        try {
-            String query = "SELECT * FROM transactions WHERE user_id = ? ORDER BY transaction_date DESC, created_at DESC";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+        String query = "SELECT * FROM transactions WHERE user_id = ? ORDER BY transaction_date DESC, created_at DESC";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Transaction transaction = new Transaction(
-                    rs.getString("id"),
-                    rs.getString("user_id"),
-                    Transaction.TransactionType.valueOf(rs.getString("type")),
-                    rs.getDouble("amount"),
-                    rs.getString("category"),
-                    rs.getString("notes"),
-                    rs.getDate("transaction_date").toLocalDate()
-                );
-                transactions.add(transaction);
-            }
-
-            stmt.close();
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(readTransaction(rs));
+                }
+            }
         } catch (SQLException e) {
             System.err.println("❌ Failed to get transactions!");
             e.printStackTrace();
@@ -82,136 +226,266 @@ public class DataService {
         return transactions;
     }
 
-    public Map<String, Double> getCategorySpending(String userId) {
-        Map<String, Double> categorySpending = new HashMap<>();
-        try {
-            String query = "SELECT category, SUM(amount) as total FROM transactions WHERE user_id = ? AND type = 'EXPENSE' GROUP BY category";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+    /**
+     * The user's transactions in {@code sort} order, at most {@code limit} of them (all when
+     * {@code limit} is not positive). Ordering and limiting happen in MySQL on a matching index,
+     * so "top 5 by amount" reads five index entries instead of the whole history.
+     */
+    public List<Transaction> getTransactionsSorted(String userId, TransactionSort sort, int limit) {
+        List<Transaction> transactions = new ArrayList<>();
+        String query = sortedQuery(sort, limit > 0);
+
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
+            if (limit > 0) {
+                stmt.setInt(2, limit);
+            }
 
-            while (rs.next()) {
-                categorySpending.put(rs.getString("category"), rs.getDouble("total"));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(readTransaction(rs));
+                }
             }
+        } catch (SQLException e) {
+            System.err.println("❌ Failed to get sorted transactions!");
+            e.printStackTrace();
+        }
+        return transactions;
+    }
+
+    static String sortedQuery(TransactionSort sort, boolean limited) {
+        String orderBy = switch (sort) {
+            case DATE_DESC -> "transaction_date DESC, created_at DESC, id DESC";
+            case AMOUNT_DESC -> "amount DESC, id DESC";
+            case AMOUNT_ASC -> "amount ASC, id ASC";
+            case CATEGORY_ASC -> "category ASC, id ASC";
+        };
+        return "SELECT * FROM transactions WHERE user_id = ? ORDER BY " + orderBy + (limited ? " LIMIT ?" : "");
+    }
 
-            stmt.close();
+    private Transaction readTransaction(ResultSet rs) throws SQLException {
+        return new Transaction(
+            rs.getString("id"),
+            rs.getString("user_id"),
+            Transaction.TransactionType.valueOf(rs.getString("type")),
+            rs.getDouble("amount"),
+            rs.getString("category"),
+            rs.getString("notes"),
+            rs.getDate("transaction_date").toLocalDate()
+        );
+    }
+
+    /**
+     * One page of the user's transactions, newest first, starting strictly after {@code after}
+     * (or at the top when it is null). Keyset pagination on {@code idx_user_date_created}: each
+     * page is an index range scan of {@code limit + 1} rows no matter how deep it is.
+     */
+    public TransactionPage getTransactionsPage(String userId, PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+
+        List<Transaction> transactions = new ArrayList<>(limit);
+        PageCursor next = null;
+        String query = after == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL;
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            int index = 1;
+            stmt.setString(index++, userId);
+            if (after != null) {
+                java.sql.Date date = java.sql.Date.valueOf(after.date());
+                stmt.setDate(index++, date);
+                stmt.setDate(index++, date);
+                stmt.setObject(index++, after.createdAt());
+                stmt.setObject(index++, after.createdAt());
+                stmt.setString(index++, after.id());
+            }
+            // One extra row tells us whether another page exists
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                LocalDateTime lastCreatedAt = null;
+                while (rs.next()) {
+                    if (transactions.size() == limit) {
+                        Transaction last = transactions.get(limit - 1);
+                        next = new PageCursor(last.getDate(), lastCreatedAt, last.getId());
+                        break;
+                    }
+                    transactions.add(new Transaction(
+                        rs.getString(1),
+                        userId,
+                        Transaction.TransactionType.valueOf(rs.getString(2)),
+                        rs.getDouble(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getObject(6, LocalDate.class)
+                    ));
+                    lastCreatedAt = rs.getObject(7, LocalDateTime.class);
+                }
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Failed to get category spending!");
+            System.err.println("❌ Failed to get transaction page!");
             e.printStackTrace();
         }
-        return categorySpending;
+        return new TransactionPage(transactions, next);
     }
 
-    public Map<String, Double> getCurrentMonthSpending(String userId) {
+    long dataVersion(String userId) {
+        return versions.current(userId);
+    }
+
+    public Map<String, Double> getCategorySpending(String userId) {
         Map<String, Double> categorySpending = new HashMap<>();
-        try {
-            YearMonth currentMonth = YearMonth.now();
-            String query = "SELECT category, SUM(amount) as total FROM transactions WHERE user_id = ? AND type = 'EXPENSE' AND YEAR(transaction_date) = ? AND MONTH(transaction_date) = ? GROUP BY category";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+        String query = "SELECT category, SUM(total) as total FROM monthly_rollup WHERE user_id = ? AND type = 'EXPENSE' GROUP BY category";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
-            stmt.setInt(2, currentMonth.getYear());
-            stmt.setInt(3, currentMonth.getMonthValue());
-            ResultSet rs = stmt.executeQuery();
 
-            while (rs.next()) {
-                categorySpending.put(rs.getString("category"), rs.getDouble("total"));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    categorySpending.put(rs.getString("category"), rs.getDouble("total"));
+                }
             }
-
-            stmt.close();
         } catch (SQLException e) {
-            System.err.println("❌ Failed to get current month spending!");
+            System.err.println("❌ Failed to get category spending!");
             e.printStackTrace();
         }
         return categorySpending;
     }
 
-    public double getCurrentMonthTotalExpenses(String userId) {
-        try {
-            YearMonth currentMonth = YearMonth.now();
-            String query = "SELECT SUM(amount) as total FROM transactions WHERE user_id = ? AND type = 'EXPENSE' AND YEAR(transaction_date) = ? AND MONTH(transaction_date) = ?";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+    /**
+     * Expense totals per category for {@code range}. Whole-month ranges are read from
+     * {@code monthly_rollup}; anything else is a plain range on {@code transaction_date},
+     * answered from {@code idx_user_type_date}.
+     */
+    public Map<String, Double> getCategorySpending(String userId, DateRange range) {
+        Map<String, Double> categorySpending = new HashMap<>();
+        String query = range.isMonthAligned() ? CATEGORY_SPENDING_ROLLUP_SQL : CATEGORY_SPENDING_RANGE_SQL;
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
-            stmt.setInt(2, currentMonth.getYear());
-            stmt.setInt(3, currentMonth.getMonthValue());
-            ResultSet rs = stmt.executeQuery();
+            bindRange(stmt, 2, range);
 
-            if (rs.next()) {
-                double total = rs.getDouble("total");
-                stmt.close();
-                return total;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    categorySpending.put(rs.getString("category"), rs.getDouble("total"));
+                }
             }
-            stmt.close();
         } catch (SQLException e) {
-            System.err.println("❌ Failed to get current month total expenses!");
+            System.err.println("❌ Failed to get category spending for " + range + "!");
             e.printStackTrace();
         }
-        return 0.0;
+        return categorySpending;
     }
 
-    public Map<YearMonth, Double> getMonthlyIncome(String userId) {
-        Map<YearMonth, Double> monthlyIncome = new TreeMap<>();
-        try {
-            String query = "SELECT YEAR(transaction_date) as year, MONTH(transaction_date) as month, SUM(amount) as total FROM transactions WHERE user_id = ? AND type = 'INCOME' GROUP BY YEAR(transaction_date), MONTH(transaction_date) ORDER BY year, month";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+    public Map<String, Double> getCurrentMonthSpending(String userId) {
+        return getCategorySpending(userId, DateRange.currentMonth());
+    }
+
+    public double getTotalExpenses(String userId, DateRange range) {
+        String query = range.isMonthAligned() ? EXPENSE_TOTAL_ROLLUP_SQL : EXPENSE_TOTAL_RANGE_SQL;
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
+            bindRange(stmt, 2, range);
 
-            while (rs.next()) {
-                YearMonth yearMonth = YearMonth.of(rs.getInt("year"), rs.getInt("month"));
-                monthlyIncome.put(yearMonth, rs.getDouble("total"));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getDouble("total");
+                }
             }
-
-            stmt.close();
         } catch (SQLException e) {
-            System.err.println("❌ Failed to get monthly income!");
+            System.err.println("❌ Failed to get total expenses for " + range + "!");
             e.printStackTrace();
         }
-        return monthlyIncome;
+        return 0.0;
+    }
+
+    public double getCurrentMonthTotalExpenses(String userId) {
+        return getTotalExpenses(userId, DateRange.currentMonth());
+    }
+
+    public Map<YearMonth, Double> getMonthlyIncome(String userId) {
+        return getMonthlyTotals(userId, Transaction.TransactionType.INCOME, null);
+    }
+
+    public Map<YearMonth, Double> getMonthlyIncome(String userId, DateRange range) {
+        return getMonthlyTotals(userId, Transaction.TransactionType.INCOME, range);
     }
 
     public Map<YearMonth, Double> getMonthlyExpenses(String userId) {
-        Map<YearMonth, Double> monthlyExpenses = new TreeMap<>();
-        try {
-            String query = "SELECT YEAR(transaction_date) as year, MONTH(transaction_date) as month, SUM(amount) as total FROM transactions WHERE user_id = ? AND type = 'EXPENSE' GROUP BY YEAR(transaction_date), MONTH(transaction_date) ORDER BY year, month";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
+        return getMonthlyTotals(userId, Transaction.TransactionType.EXPENSE, null);
+    }
+
+    public Map<YearMonth, Double> getMonthlyExpenses(String userId, DateRange range) {
+        return getMonthlyTotals(userId, Transaction.TransactionType.EXPENSE, range);
+    }
 
-            while (rs.next()) {
-                YearMonth yearMonth = YearMonth.of(rs.getInt("year"), rs.getInt("month"));
-                monthlyExpenses.put(yearMonth, rs.getDouble("total"));
+    /**
+     * Per-month totals for one transaction type, over all history when {@code range} is null.
+     * All history and whole-month ranges come from {@code monthly_rollup}. Other ranges hit the
+     * raw table, with month extraction only in the GROUP BY and filtering on the raw column.
+     */
+    private Map<YearMonth, Double> getMonthlyTotals(String userId, Transaction.TransactionType type, DateRange range) {
+        Map<YearMonth, Double> monthlyTotals = new TreeMap<>();
+        String query;
+        if (range == null || range.isMonthAligned()) {
+            query = "SELECT YEAR(`year_month`) as year, MONTH(`year_month`) as month, SUM(total) as total FROM monthly_rollup WHERE user_id = ? AND type = ?"
+                + (range != null ? " AND `year_month` >= ? AND `year_month` < ?" : "")
+                + " GROUP BY `year_month` ORDER BY `year_month`";
+        } else {
+            query = MONTHLY_TOTALS_RANGE_SQL;
+        }
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, userId);
+            stmt.setString(2, type.name());
+            if (range != null) {
+                bindRange(stmt, 3, range);
             }
 
-            stmt.close();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    YearMonth yearMonth = YearMonth.of(rs.getInt("year"), rs.getInt("month"));
+                    monthlyTotals.put(yearMonth, rs.getDouble("total"));
+                }
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Failed to get monthly expenses!");
+            System.err.println(type == Transaction.TransactionType.INCOME
+                ? "❌ Failed to get monthly income!"
+                : "❌ Failed to get monthly expenses!");
             e.printStackTrace();
         }
-        return monthlyExpenses;
+        return monthlyTotals;
+    }
+
+    private void bindRange(PreparedStatement stmt, int firstIndex, DateRange range) throws SQLException {
+        stmt.setDate(firstIndex, java.sql.Date.valueOf(range.start()));
+        stmt.setDate(firstIndex + 1, java.sql.Date.valueOf(range.end()));
     }
 
     public FinancialMetrics calculateMetrics(String userId) {
         double totalIncome = 0.0;
         double totalExpenses = 0.0;
 
-        try {
-            String query = "SELECT type, SUM(amount) as total FROM transactions WHERE user_id = ? GROUP BY type";
-            PreparedStatement stmt = dbManager.getConnection().prepareStatement(query);
+        String query = "SELECT type, SUM(total) as total FROM monthly_rollup WHERE user_id = ? GROUP BY type";
+        try (PooledConnection conn = dbManager.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
 
-            while (rs.next()) {
-                String type = rs.getString("type");
-                double total = rs.getDouble("total");
-                
-                if ("INCOME".equals(type)) {
-                    totalIncome = total;
-                } else if ("EXPENSE".equals(type)) {
-                    totalExpenses = total;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String type = rs.getString("type");
+                    double total = rs.getDouble("total");
+                    
+                    if ("INCOME".equals(type)) {
+                        totalIncome = total;
+                    } else if ("EXPENSE".equals(type)) {
+                        totalExpenses = total;
+                    }
                 }
             }
-
-            stmt.close();
         } catch (SQLException e) {
             System.err.println("❌ Failed to calculate metrics!");
             e.printStackTrace();
@@ -220,41 +494,223 @@ public class DataService {
         return new FinancialMetrics(totalIncome, totalExpenses);
     }
 
+    /**
+     * Everything the dashboard shows, read from {@code monthly_rollup} and cached until the
+     * user's data changes.
+     */
+    public DashboardSnapshot getDashboardSnapshot(String userId) {
+        long version = versions.current(userId);
+        return dashboardCache.get(userId, version, () -> {
+            MonthlyRollup.Summary rollup = getRollupSummary(userId, version);
+            return new DashboardSnapshot(rollup.metrics(), rollup.monthlyIncome(), rollup.monthlyExpenses());
+        });
+    }
+
+    /**
+     * Inputs for the Reports tab, all from the same cached rollup read as the dashboard. The
+     * spending-pattern count needs the user's full history, so it is fetched separately with
+     * {@link #getSpendingPatternsAsync}.
+     */
+    public ReportModel getReportModel(String userId) {
+        long version = versions.current(userId);
+        YearMonth currentMonth = YearMonth.now();
+        return reportCache.get(userId + "|" + currentMonth, version, () -> {
+            MonthlyRollup.Summary rollup = getRollupSummary(userId, version);
+            return new ReportModel(
+                currentMonth,
+                rollup.metrics(),
+                rollup.categorySpending(),
+                rollup.categorySpending(currentMonth),
+                rollup.categorySpending(currentMonth.minusMonths(1)),
+                rollup.monthlyIncome(),
+                rollup.monthlyExpenses(),
+                allocateProportionally(rollup.categorySpending(), SUGGESTED_BUDGET_TOTAL)
+            );
+        });
+    }
+
+    private MonthlyRollup.Summary getRollupSummary(String userId, long version) {
+        return rollupCache.get(userId, version, () -> loadRollupSummary(userId));
+    }
+
+    private MonthlyRollup.Summary loadRollupSummary(String userId) {
+        try (PooledConnection conn = dbManager.getConnection()) {
+            return MonthlyRollup.read(conn, userId);
+        } catch (SQLException e) {
+            System.err.println("❌ Failed to read monthly rollup!");
+            e.printStackTrace();
+            return new MonthlyRollup.Summary();
+        }
+    }
+
+    /**
+     * ASYNC READS
+     * Same queries as above, run on the {@link ServiceExecutor} so UI code never waits on JDBC.
+     */
+
+    public CompletableFuture<Boolean> addTransactionAsync(Transaction transaction) {
+        return executor.supply(() -> addTransaction(transaction));
+    }
+
+    public CompletableFuture<List<Transaction>> searchNotesAsync(String userId, String query) {
+        return executor.supply(() -> searchNotes(userId, query));
+    }
+
+    public CompletableFuture<List<Transaction>> searchSubstringAsync(String userId, String fragment) {
+        return executor.supply(() -> searchSubstring(userId, fragment));
+    }
+
+    public CompletableFuture<List<Transaction>> searchFuzzyAsync(String userId, String query) {
+        return executor.supply(() -> searchFuzzy(userId, query));
+    }
+
+    public CompletableFuture<List<String>> suggestCategoriesAsync(String userId, Transaction.TransactionType type,
+                                                                  String prefix, int limit) {
+        return executor.supply(() -> suggestCategories(userId, type, prefix, limit));
+    }
+
+    public CompletableFuture<List<List<Transaction>>> findDuplicateChargesAsync(String userId, int windowDays) {
+        return executor.supply(() -> findDuplicateCharges(userId, windowDays));
+    }
+
+    public CompletableFuture<Double> getMaxSpendingInWindowAsync(String userId, int windowDays) {
+        return executor.supply(() -> getMaxSpendingInWindow(userId, windowDays));
+    }
+
+    public CompletableFuture<Map<String, Integer>> getSpendingPatternsAsync(String userId) {
+        return executor.supply(() -> getSpendingPatterns(userId));
+    }
+
+    public CompletableFuture<List<Transaction>> getTransactionsSortedAsync(String userId, TransactionSort sort, int limit) {
+        return executor.supply(() -> getTransactionsSorted(userId, sort, limit));
+    }
+
+    public CompletableFuture<Map<String, Double>> getCurrentMonthSpendingAsync(String userId) {
+        return executor.supply(() -> getCurrentMonthSpending(userId));
+    }
+
+    public CompletableFuture<Double> getCurrentMonthTotalExpensesAsync(String userId) {
+        return executor.supply(() -> getCurrentMonthTotalExpenses(userId));
+    }
+
+    public CompletableFuture<DashboardSnapshot> getDashboardSnapshotAsync(String userId) {
+        return executor.supply(() -> getDashboardSnapshot(userId));
+    }
+
+    public CompletableFuture<ReportModel> getReportModelAsync(String userId) {
+        return executor.supply(() -> getReportModel(userId));
+    }
+
+    /**
+     * Streams the user's history straight from a forward-only cursor into the file, so memory
+     * use does not grow with the number of transactions.
+     */
     public void exportToCSV(String userId, String filePath) throws IOException {
-        List<Transaction> userTransactions = getTransactionsForUser(userId);
-        
-        try (FileWriter writer = new FileWriter(filePath)) {
-            writer.write("Date,Type,Category,Amount,Notes\n");
-            
-            for (Transaction transaction : userTransactions) {
-                writer.write(String.format("%s,%s,%s,%.2f,\"%s\"\n",
-                        transaction.getFormattedDate(),
-                        transaction.getType(),
-                        transaction.getCategory(),
-                        transaction.getAmount(),
-                        transaction.getNotes().replace("\"", "\"\"")));
+        String query = "SELECT transaction_date, type, category, CAST(amount * 100 AS SIGNED) AS amount_cents, notes FROM transactions WHERE user_id = ? ORDER BY transaction_date DESC, created_at DESC";
+
+        try (PooledConnection conn = dbManager.getConnection();
+             PreparedStatement stmt = conn.getConnection().prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             CsvChannelWriter writer = new CsvChannelWriter(Path.of(filePath))) {
+            stmt.setFetchSize(STREAMING_FETCH_SIZE);
+            stmt.setString(1, userId);
+
+            writer.field("Date").field("Type").field("Category").field("Amount").field("Notes");
+            writer.endRow();
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    writer.dateField(rs.getObject(1, LocalDate.class))
+                        .field(rs.getString(2))
+                        .field(rs.getString(3))
+                        .centsField(rs.getLong(4))
+                        .quotedField(rs.getString(5));
+                    writer.endRow();
+                }
             }
+        } catch (SQLException e) {
+            throw new IOException("Failed to read transactions for export", e);
         }
     }
 
     public void clearAllData() {
-        try {
-            String query = "DELETE FROM transactions";
-            Statement stmt = dbManager.getConnection().createStatement();
-            stmt.executeUpdate(query);
-            stmt.close();
+        try (PooledConnection conn = dbManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            conn.getConnection().setAutoCommit(false);
+            stmt.executeUpdate("DELETE FROM transactions");
+            stmt.executeUpdate("DELETE FROM monthly_rollup");
+            conn.getConnection().commit();
+            versions.bumpAll();
+            ledgers.clear();
         } catch (SQLException e) {
             System.err.println("❌ Failed to clear transactions!");
             e.printStackTrace();
         }
     }
 
+    /**
+     * Recomputes a user's {@code monthly_rollup} rows from the raw transactions, e.g. after
+     * rows were edited outside the application. Returns whether the rebuild was committed.
+     */
+    public boolean rebuildMonthlyRollup(String userId) {
+        try (PooledConnection conn = dbManager.getConnection()) {
+            conn.getConnection().setAutoCommit(false);
+            MonthlyRollup.rebuild(conn, userId);
+            conn.getConnection().commit();
+            versions.bump(userId);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("❌ Failed to rebuild monthly rollup!");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * {@link #rebuildMonthlyRollup(String)} for every user at once.
+     */
+    public boolean rebuildMonthlyRollup() {
+        try (PooledConnection conn = dbManager.getConnection()) {
+            conn.getConnection().setAutoCommit(false);
+            MonthlyRollup.rebuildAll(conn);
+            conn.getConnection().commit();
+            versions.bumpAll();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("❌ Failed to rebuild monthly rollup!");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Builds the rollup for every user who has transactions but no rollup rows, one commit per
+     * user, so a user added behind the application's back is picked up on the next start.
+     */
+    void backfillMonthlyRollup() {
+        try (PooledConnection conn = dbManager.getConnection()) {
+            List<String> userIds = MonthlyRollup.usersNeedingBackfill(conn);
+            if (userIds.isEmpty()) {
+                return;
+            }
+            System.out.println("Building monthly rollup for " + userIds.size() + " user(s)...");
+            conn.getConnection().setAutoCommit(false);
+            for (String userId : userIds) {
+                MonthlyRollup.rebuild(conn, userId);
+                conn.getConnection().commit();
+                versions.bump(userId);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Failed to build monthly rollup!");
+            e.printStackTrace();
+        }
+    }
+
     
     /**
      * SORTING ALGORITHMS - Different sorting strategies for transactions
      */
     
-    public List<Transaction> quickSortByAmount(List<Transaction> transactions, boolean ascending) {
+    public static List<Transaction> quickSortByAmount(List<Transaction> transactions, boolean ascending) {
         if (transactions == null || transactions.size() <= 1) {
             return new ArrayList<>(transactions);
         }
@@ -264,33 +720,74 @@ public class DataService {
         return result;
     }
     
-    private void quickSortByAmountHelper(List<Transaction> transactions, int low, int high, boolean ascending) {
-        if (low < high) {
-            int pivotIndex = partitionByAmount(transactions, low, high, ascending);
-            quickSortByAmountHelper(transactions, low, pivotIndex - 1, ascending);
-            quickSortByAmountHelper(transactions, pivotIndex + 1, high, ascending);
+    private static void quickSortByAmountHelper(List<Transaction> transactions, int low, int high, boolean ascending) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int split = partitionByAmount(transactions, low, high, ascending);
+            // Recurse into the smaller half and loop on the larger one, so stack depth stays O(log n)
+            if (split - low < high - split) {
+                quickSortByAmountHelper(transactions, low, split, ascending);
+                low = split + 1;
+            } else {
+                quickSortByAmountHelper(transactions, split + 1, high, ascending);
+                high = split;
+            }
         }
+        insertionSortByAmount(transactions, low, high, ascending);
     }
     
-    private int partitionByAmount(List<Transaction> transactions, int low, int high, boolean ascending) {
-        double pivot = transactions.get(high).getAmount();
-        int i = low - 1;
+    /**
+     * Hoare partition around the median of the first, middle and last amounts. Sorted input
+     * splits evenly and runs of equal amounts are divided between both halves, so neither
+     * degrades to quadratic time. Returns j such that [low, j] and [j + 1, high] are in order
+     * relative to each other.
+     */
+    private static int partitionByAmount(List<Transaction> transactions, int low, int high, boolean ascending) {
+        int mid = low + (high - low) / 2;
+        if (precedesByAmount(transactions.get(mid).getAmount(), transactions.get(low).getAmount(), ascending)) {
+            swap(transactions, low, mid);
+        }
+        if (precedesByAmount(transactions.get(high).getAmount(), transactions.get(mid).getAmount(), ascending)) {
+            swap(transactions, mid, high);
+            if (precedesByAmount(transactions.get(mid).getAmount(), transactions.get(low).getAmount(), ascending)) {
+                swap(transactions, low, mid);
+            }
+        }
+        double pivot = transactions.get(mid).getAmount();
         
-        for (int j = low; j < high; j++) {
-            boolean shouldSwap = ascending ? 
-                transactions.get(j).getAmount() <= pivot : 
-                transactions.get(j).getAmount() >= pivot;
-                
-            if (shouldSwap) {
+        int i = low - 1;
+        int j = high + 1;
+        while (true) {
+            do {
                 i++;
-                swap(transactions, i, j);
+            } while (precedesByAmount(transactions.get(i).getAmount(), pivot, ascending));
+            do {
+                j--;
+            } while (precedesByAmount(pivot, transactions.get(j).getAmount(), ascending));
+            
+            if (i >= j) {
+                return j;
             }
+            swap(transactions, i, j);
         }
-        swap(transactions, i + 1, high);
-        return i + 1;
     }
     
-    public List<Transaction> mergeSortByDate(List<Transaction> transactions, boolean ascending) {
+    private static void insertionSortByAmount(List<Transaction> transactions, int low, int high, boolean ascending) {
+        for (int i = low + 1; i <= high; i++) {
+            Transaction current = transactions.get(i);
+            int j = i - 1;
+            while (j >= low && precedesByAmount(current.getAmount(), transactions.get(j).getAmount(), ascending)) {
+                transactions.set(j + 1, transactions.get(j));
+                j--;
+            }
+            transactions.set(j + 1, current);
+        }
+    }
+    
+    private static boolean precedesByAmount(double first, double second, boolean ascending) {
+        return ascending ? first < second : first > second;
+    }
+    
+    public static List<Transaction> mergeSortByDate(List<Transaction> transactions, boolean ascending) {
         if (transactions == null || transactions.size() <= 1) {
             return new ArrayList<>(transactions);
         }
@@ -300,7 +797,7 @@ public class DataService {
         return result;
     }
     
-    private void mergeSortByDateHelper(List<Transaction> transactions, int left, int right, boolean ascending) {
+    private static void mergeSortByDateHelper(List<Transaction> transactions, int left, int right, boolean ascending) {
         if (left < right) {
             int mid = left + (right - left) / 2;
             mergeSortByDateHelper(transactions, left, mid, ascending);
@@ -309,7 +806,7 @@ public class DataService {
         }
     }
     
-    private void mergeByDate(List<Transaction> transactions, int left, int mid, int right, boolean ascending) {
+    private static void mergeByDate(List<Transaction> transactions, int left, int mid, int right, boolean ascending) {
         List<Transaction> leftArray = new ArrayList<>();
         List<Transaction> rightArray = new ArrayList<>();
         
@@ -352,7 +849,7 @@ public class DataService {
         }
     }
     
-    public List<Transaction> heapSortByCategory(List<Transaction> transactions, boolean ascending) {
+    public static List<Transaction> heapSortByCategory(List<Transaction> transactions, boolean ascending) {
         if (transactions == null || transactions.size() <= 1) {
             return new ArrayList<>(transactions);
         }
@@ -372,7 +869,7 @@ public class DataService {
         return result;
     }
     
-    private void heapifyByCategory(List<Transaction> transactions, int n, int i, boolean ascending) {
+    private static void heapifyByCategory(List<Transaction> transactions, int n, int i, boolean ascending) {
         int largest = i;
         int left = 2 * i + 1;
         int right = 2 * i + 2;
@@ -401,7 +898,7 @@ public class DataService {
         }
     }
     
-    private void swap(List<Transaction> transactions, int i, int j) {
+    private static void swap(List<Transaction> transactions, int i, int j) {
         Transaction temp = transactions.get(i);
         transactions.set(i, transactions.get(j));
         transactions.set(j, temp);
@@ -411,13 +908,13 @@ public class DataService {
      * SEARCH ALGORITHMS - Efficient searching strategies
      */
     
-    public List<Transaction> binarySearchByAmount(List<Transaction> sortedTransactions, double targetAmount, double tolerance) {
+    public static List<Transaction> binarySearchByAmount(List<Transaction> sortedTransactions, double targetAmount, double tolerance) {
         List<Transaction> results = new ArrayList<>();
         binarySearchByAmountHelper(sortedTransactions, targetAmount, tolerance, 0, sortedTransactions.size() - 1, results);
         return results;
     }
     
-    private void binarySearchByAmountHelper(List<Transaction> transactions, double target, double tolerance, 
+    private static void binarySearchByAmountHelper(List<Transaction> transactions, double target, double tolerance, 
                                           int left, int right, List<Transaction> results) {
         if (left <= right) {
             int mid = left + (right - left) / 2;
@@ -445,7 +942,47 @@ public class DataService {
         }
     }
     
-    public List<Transaction> linearSearchByCategory(List<Transaction> transactions, String category) {
+    /**
+     * Transactions with {@code minAmount <= amount <= maxAmount}, smallest first, from the
+     * user's amount index.
+     */
+    public List<Transaction> getTransactionsByAmountRange(String userId, double minAmount, double maxAmount) {
+        UserLedger ledger = ledgers.get(userId);
+        int[] docIds = ledger.read(AmountIndex.class, AmountIndex::new, index ->
+            index.between(ColumnarLedger.toCents(minAmount), ColumnarLedger.toCents(maxAmount)));
+        return ledger.transactionsInOrder(docIds);
+    }
+
+    public int countTransactionsByAmountRange(String userId, double minAmount, double maxAmount) {
+        return ledgers.get(userId).read(AmountIndex.class, AmountIndex::new, index ->
+            index.count(ColumnarLedger.toCents(minAmount), ColumnarLedger.toCents(maxAmount)));
+    }
+
+    /**
+     * The {@code k} transactions whose amounts are closest to {@code amount}, closest first.
+     */
+    public List<Transaction> findNearestAmounts(String userId, double amount, int k) {
+        UserLedger ledger = ledgers.get(userId);
+        int[] docIds = ledger.read(AmountIndex.class, AmountIndex::new, index ->
+            index.nearest(ColumnarLedger.toCents(amount), k));
+        return ledger.transactionsInOrder(docIds);
+    }
+
+    /**
+     * Likely duplicate charges: groups of expenses with exactly the same amount where each one
+     * falls within {@code windowDays} of the previous. Each group is earliest first.
+     */
+    public List<List<Transaction>> findDuplicateCharges(String userId, int windowDays) {
+        UserLedger ledger = ledgers.get(userId);
+        List<int[]> groups = ledger.read(AmountIndex.class, AmountIndex::new, index -> index.duplicateExpenses(windowDays));
+        List<List<Transaction>> result = new ArrayList<>(groups.size());
+        for (int[] group : groups) {
+            result.add(ledger.transactionsInOrder(group));
+        }
+        return result;
+    }
+
+    public static List<Transaction> linearSearchByCategory(List<Transaction> transactions, String category) {
         List<Transaction> results = new ArrayList<>();
         for (Transaction transaction : transactions) {
             if (transaction.getCategory().equalsIgnoreCase(category)) {
@@ -455,7 +992,40 @@ public class DataService {
         return results;
     }
     
-    public List<Transaction> searchInNotes(List<Transaction> transactions, String pattern) {
+    /**
+     * Case-insensitive notes search over the user's inverted index. Every term must match;
+     * quoted words must appear as a phrase. Results are newest first.
+     */
+    public List<Transaction> searchNotes(String userId, String query) {
+        UserLedger ledger = ledgers.get(userId);
+        int[] docIds = ledger.read(NotesIndex.class, NotesIndex::new, index -> index.search(query));
+        return ledger.transactions(docIds);
+    }
+
+    /**
+     * Transactions whose notes or category contain {@code fragment}, ignoring case, newest first.
+     */
+    public List<Transaction> searchSubstring(String userId, String fragment) {
+        UserLedger ledger = ledgers.get(userId);
+        int[] docIds = ledger.read(TrigramIndex.class, TrigramIndex::new, index -> index.searchSubstring(fragment));
+        return ledger.transactions(docIds);
+    }
+
+    /**
+     * Typo-tolerant search over notes and categories: transactions containing something within
+     * a few edits of {@code query} (one edit per three characters, at most three), closest first.
+     */
+    public List<Transaction> searchFuzzy(String userId, String query) {
+        int maxEdits = Math.min(MAX_FUZZY_EDITS, Math.max(1, (query.strip().length() + 1) / 3));
+        UserLedger ledger = ledgers.get(userId);
+        int[] docIds = ledger.read(TrigramIndex.class, TrigramIndex::new, index ->
+            index.searchFuzzy(query.strip(), maxEdits, MAX_FUZZY_RESULTS).stream()
+                .mapToInt(TrigramIndex.Match::docId)
+                .toArray());
+        return ledger.transactionsInOrder(docIds);
+    }
+
+    public static List<Transaction> searchInNotes(List<Transaction> transactions, String pattern) {
         List<Transaction> results = new ArrayList<>();
         int[] lps = computeLPSArray(pattern);
         
@@ -467,7 +1037,7 @@ public class DataService {
         return results;
     }
     
-    private int[] computeLPSArray(String pattern) {
+    private static int[] computeLPSArray(String pattern) {
         int[] lps = new int[pattern.length()];
         int len = 0;
         int i = 1;
@@ -489,7 +1059,7 @@ public class DataService {
         return lps;
     }
     
-    private boolean kmpSearch(String text, String pattern, int[] lps) {
+    private static boolean kmpSearch(String text, String pattern, int[] lps) {
         int i = 0; // index for text
         int j = 0; // index for pattern
         
@@ -516,37 +1086,30 @@ public class DataService {
      * ADVANCED DATA STRUCTURES
      */
     
-    public List<Transaction> getTopNTransactionsByAmount(List<Transaction> transactions, int n, boolean highest) {
+    public static List<Transaction> getTopNTransactionsByAmount(List<Transaction> transactions, int n, boolean highest) {
         if (transactions == null || transactions.isEmpty()) {
             return new ArrayList<>();
         }
-        
-        Comparator<Transaction> comparator = highest ? 
-            Comparator.comparing(Transaction::getAmount).reversed() :
-            Comparator.comparing(Transaction::getAmount);
-            
-        PriorityQueue<Transaction> pq = new PriorityQueue<>(comparator);
-        
-        for (Transaction transaction : transactions) {
-            pq.offer(transaction);
-            if (pq.size() > n) {
-                pq.poll();
-            }
-        }
-        
-        List<Transaction> result = new ArrayList<>();
-        while (!pq.isEmpty()) {
-            result.add(pq.poll());
-        }
-        
-        if (highest) {
-            Collections.reverse(result);
-        }
-        
-        return result;
+        return ParallelAnalytics.run(transactions, new ParallelAnalytics.TopK(n, highest));
     }
-    
-    public List<String> searchCategoriesByPrefix(List<Transaction> transactions, String prefix) {
+
+    /**
+     * The user's categories starting with {@code prefix}, ignoring case, most used first.
+     */
+    public List<String> searchCategoriesByPrefix(String userId, String prefix) {
+        return suggestCategories(userId, null, prefix, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Up to {@code limit} of the user's categories for {@code type} (any type when null) that
+     * start with {@code prefix}, most used first. Served from a trie kept current on every write.
+     */
+    public List<String> suggestCategories(String userId, Transaction.TransactionType type, String prefix, int limit) {
+        return ledgers.get(userId).read(CategoryTrie.class, CategoryTrie::new,
+            trie -> trie.complete(prefix, type, limit));
+    }
+
+    public static List<String> searchCategoriesByPrefix(List<Transaction> transactions, String prefix) {
         Set<String> categories = transactions.stream()
             .map(Transaction::getCategory)
             .collect(Collectors.toSet());
@@ -557,24 +1120,69 @@ public class DataService {
             .collect(Collectors.toList());
     }
     
-    public Map<String, List<String>> buildSpendingGraph(List<Transaction> transactions) {
-        Map<String, List<String>> graph = new HashMap<>();
-        
-        Map<String, List<Transaction>> dailyTransactions = transactions.stream()
-            .collect(Collectors.groupingBy(t -> t.getDate().toString()));
-            
-        for (List<Transaction> dayTransactions : dailyTransactions.values()) {
-            for (int i = 0; i < dayTransactions.size(); i++) {
-                for (int j = i + 1; j < dayTransactions.size(); j++) {
-                    String category1 = dayTransactions.get(i).getCategory();
-                    String category2 = dayTransactions.get(j).getCategory();
-                    
-                    graph.computeIfAbsent(category1, k -> new ArrayList<>()).add(category2);
-                    graph.computeIfAbsent(category2, k -> new ArrayList<>()).add(category1);
+    /**
+     * Total per category of {@code type} over the user's whole history, summed from the
+     * columnar store.
+     */
+    public Map<String, Double> getCategoryTotals(String userId, Transaction.TransactionType type) {
+        return ledgers.get(userId).readColumns(columns -> {
+            long[] totals = columns.categoryTotals(type);
+            Map<String, Double> result = new HashMap<>();
+            for (int id = 0; id < totals.length; id++) {
+                if (totals[id] != 0) {
+                    result.put(columns.categoryName(id), totals[id] / 100.0);
+                }
+            }
+            return result;
+        });
+    }
+
+    public Map<String, Double> optimalBudgetAllocation(String userId, double totalBudget) {
+        return allocateProportionally(getCategoryTotals(userId, Transaction.TransactionType.EXPENSE), totalBudget);
+    }
+
+    /**
+     * For every category that shared a day with another transaction, the number of other
+     * categories reachable from it through same-day links. Read from the union-find in the
+     * user's co-occurrence index, so it is linear in the number of categories.
+     */
+    public Map<String, Integer> getSpendingPatterns(String userId) {
+        return ledgers.get(userId).read(CoOccurrenceIndex.class, CoOccurrenceIndex::new, index -> {
+            Map<String, Integer> connections = new HashMap<>();
+            for (int category = 0; category < index.categoryCount(); category++) {
+                if (index.isPaired(category)) {
+                    connections.put(index.categoryName(category), index.componentSize(category) - 1);
                 }
             }
+            return connections;
+        });
+    }
+
+    public Map<String, List<String>> buildSpendingGraph(String userId) {
+        return ledgers.get(userId).read(CoOccurrenceIndex.class, CoOccurrenceIndex::new, DataService::toSpendingGraph);
+    }
+
+    /**
+     * Categories that shared a day with another transaction, each mapped to the other categories
+     * it shared a day with. Every neighbour is listed once.
+     */
+    public static Map<String, List<String>> buildSpendingGraph(List<Transaction> transactions) {
+        return ParallelAnalytics.run(transactions, new ParallelAnalytics.CoOccurrence());
+    }
+
+    private static Map<String, List<String>> toSpendingGraph(CoOccurrenceIndex index) {
+        Map<String, List<String>> graph = new HashMap<>();
+        for (int category = 0; category < index.categoryCount(); category++) {
+            if (!index.isPaired(category)) {
+                continue;
+            }
+            IntList neighbours = index.neighbours(category);
+            List<String> names = new ArrayList<>(neighbours.size());
+            for (int i = 0; i < neighbours.size(); i++) {
+                names.add(index.categoryName(neighbours.get(i)));
+            }
+            graph.put(index.categoryName(category), names);
         }
-        
         return graph;
     }
     
@@ -582,62 +1190,68 @@ public class DataService {
      * ALGORITHM OPTIMIZATIONS
      */
     
-    private final Map<String, FinancialMetrics> metricsCache = new HashMap<>();
+    private final VersionedCache<FinancialMetrics> metricsCache = new VersionedCache<>();
     
+    /**
+     * Cached {@link #calculateMetrics}. Entries are tagged with the user's data version, so
+     * any committed write for that user (or {@link #clearAllData}) makes the next call recompute.
+     */
     public FinancialMetrics calculateMetricsOptimized(String userId) {
-        String cacheKey = userId + "_metrics";
-        
-        if (metricsCache.containsKey(cacheKey)) {
-            return metricsCache.get(cacheKey);
-        }
-        
-        FinancialMetrics metrics = calculateMetrics(userId);
-        metricsCache.put(cacheKey, metrics);
-        return metrics;
+        return metricsCache.get(userId, versions.current(userId), () -> calculateMetrics(userId));
     }
     
     public void clearMetricsCache() {
         metricsCache.clear();
     }
     
-    public double findMaxSpendingInWindow(List<Transaction> transactions, int windowDays) {
+    /**
+     * Total of {@code type} within {@code range}, for one category or all of them when
+     * {@code category} is null. Answered from the user's prefix-sum index in O(log days), so
+     * any range works without another query.
+     */
+    public double getTotalBetween(String userId, Transaction.TransactionType type, String category, DateRange range) {
+        long cents = ledgers.get(userId).read(FenwickIndex.class, FenwickIndex::new,
+            index -> index.total(type, category, range));
+        return cents / 100.0;
+    }
+
+    public double getSpendingBetween(String userId, DateRange range) {
+        return getTotalBetween(userId, Transaction.TransactionType.EXPENSE, null, range);
+    }
+
+    /**
+     * Expense totals per category within an arbitrary {@code range}, from the prefix-sum index.
+     */
+    public Map<String, Double> getCategorySpendingBetween(String userId, DateRange range) {
+        Map<String, Long> cents = ledgers.get(userId).read(FenwickIndex.class, FenwickIndex::new,
+            index -> index.totalsByCategory(Transaction.TransactionType.EXPENSE, range));
+        Map<String, Double> spending = new HashMap<>();
+        cents.forEach((category, total) -> spending.put(category, total / 100.0));
+        return spending;
+    }
+
+    /**
+     * Same answer as {@link #findMaxSpendingInWindow} over the user's whole history, read from
+     * the daily totals the prefix-sum index already keeps instead of sorting the transactions.
+     */
+    public double getMaxSpendingInWindow(String userId, int windowDays) {
+        long cents = ledgers.get(userId).read(FenwickIndex.class, FenwickIndex::new,
+            index -> index.maxWindow(Transaction.TransactionType.EXPENSE, windowDays + 1));
+        return cents / 100.0;
+    }
+
+    public static double findMaxSpendingInWindow(List<Transaction> transactions, int windowDays) {
         if (transactions.isEmpty()) return 0.0;
-        
-        List<Transaction> sortedByDate = mergeSortByDate(transactions, true);
-        
-        double maxSpending = 0.0;
-        double currentSpending = 0.0;
-        int left = 0;
-        
-        for (int right = 0; right < sortedByDate.size(); right++) {
-            Transaction current = sortedByDate.get(right);
-            if (current.getType() == Transaction.TransactionType.EXPENSE) {
-                currentSpending += current.getAmount();
-            }
-            
-            while (left <= right && 
-                   sortedByDate.get(right).getDate().toEpochDay() - 
-                   sortedByDate.get(left).getDate().toEpochDay() > windowDays) {
-                if (sortedByDate.get(left).getType() == Transaction.TransactionType.EXPENSE) {
-                    currentSpending -= sortedByDate.get(left).getAmount();
-                }
-                left++;
-            }
-            
-            maxSpending = Math.max(maxSpending, currentSpending);
-        }
-        
-        return maxSpending;
+        return ParallelAnalytics.run(transactions, new ParallelAnalytics.WindowMax(windowDays));
     }
     
-    public Map<String, Double> optimalBudgetAllocation(List<Transaction> transactions, double totalBudget) {
-        Map<String, Double> categoryExpenses = transactions.stream()
-            .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-            .collect(Collectors.groupingBy(
-                Transaction::getCategory,
-                Collectors.summingDouble(Transaction::getAmount)
-            ));
-        
+    public static Map<String, Double> optimalBudgetAllocation(List<Transaction> transactions, double totalBudget) {
+        Map<String, Double> categoryExpenses = ParallelAnalytics.run(transactions,
+            new ParallelAnalytics.CategoryTotals(Transaction.TransactionType.EXPENSE));
+        return allocateProportionally(categoryExpenses, totalBudget);
+    }
+
+    private static Map<String, Double> allocateProportionally(Map<String, Double> categoryExpenses, double totalBudget) {
         if (categoryExpenses.isEmpty()) {
             return new HashMap<>();
         }
@@ -0,0 +1,28 @@
+package com.example.mymoney.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic per-user data versions. Writers bump a user's counter after their transaction
+ * commits; wiping every user's data bumps a shared epoch instead. A user's version is the sum
+ * of both, so it strictly increases on any write that can affect that user.
+ */
+final class DataVersions {
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    long current(String userId) {
+        AtomicLong counter = counters.get(userId);
+        return epoch.get() + (counter != null ? counter.get() : 0);
+    }
+
+    void bump(String userId) {
+        counters.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    void bumpAll() {
+        epoch.incrementAndGet();
+    }
+}
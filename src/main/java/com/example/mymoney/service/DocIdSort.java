@@ -0,0 +1,59 @@
+package com.example.mymoney.service;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Stable sorting of document id arrays by a primitive key, for the in-memory indexes that keep
+ * their own orderings without boxing.
+ */
+final class DocIdSort {
+    private DocIdSort() {
+    }
+
+    /**
+     * Stable bottom-up merge sort of {@code docs[from, to)} by {@code key}.
+     */
+    static void sort(int[] docs, int from, int to, IntToLongFunction key) {
+        for (int width = 1; width < to - from; width <<= 1) {
+            for (int lo = from; lo < to - width; lo += width << 1) {
+                merge(docs, lo, lo + width, Math.min(lo + (width << 1), to), key);
+            }
+        }
+    }
+
+    /**
+     * Stable merge of the sorted runs {@code docs[lo, mid)} and {@code docs[mid, hi)}.
+     */
+    static void merge(int[] docs, int lo, int mid, int hi, IntToLongFunction key) {
+        if (lo >= mid || mid >= hi || key.applyAsLong(docs[mid - 1]) <= key.applyAsLong(docs[mid])) {
+            return;
+        }
+        int[] left = Arrays.copyOfRange(docs, lo, mid);
+        int i = 0;
+        int j = mid;
+        int out = lo;
+        while (i < left.length && j < hi) {
+            docs[out++] = key.applyAsLong(docs[j]) < key.applyAsLong(left[i]) ? docs[j++] : left[i++];
+        }
+        while (i < left.length) {
+            docs[out++] = left[i++];
+        }
+    }
+
+    /**
+     * Appends the ids {@code [sorted.length, count)} to {@code sorted}, which is already ordered
+     * by {@code key}, and returns the combined ordering. New ids are larger than the sorted ones,
+     * so ties keep document id order.
+     */
+    static int[] extend(int[] sorted, int count, IntToLongFunction key) {
+        int sortedCount = sorted.length;
+        int[] merged = Arrays.copyOf(sorted, count);
+        for (int doc = sortedCount; doc < count; doc++) {
+            merged[doc] = doc;
+        }
+        sort(merged, sortedCount, count, key);
+        merge(merged, 0, sortedCount, count, key);
+        return merged;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.DateRange;
+import com.example.mymoney.model.Transaction;
+
+import java.util.*;
+
+/**
+ * Binary indexed trees over epoch days holding daily totals in cents: one per transaction type
+ * and one per (type, category). A total between any two dates costs two prefix sums, O(log d)
+ * for a span of d days, and each new transaction is a single O(log d) point update.
+ */
+final class FenwickIndex implements LedgerIndex {
+
+    /**
+     * One series of daily totals starting at {@code origin}. {@code daily} keeps the raw values
+     * so the tree can be rebuilt in linear time when a date falls outside the covered span.
+     */
+    private static final class Series {
+        private long origin;
+        private long[] daily = new long[0];
+        private long[] tree = new long[1];
+
+        void add(long epochDay, long cents) {
+            if (daily.length == 0) {
+                origin = epochDay;
+            }
+            if (epochDay < origin || epochDay >= origin + daily.length) {
+                resize(epochDay);
+            }
+            int index = (int) (epochDay - origin);
+            daily[index] += cents;
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += cents;
+            }
+        }
+
+        /**
+         * Grows the span to include {@code epochDay} with some slack on that side, then rebuilds.
+         */
+        private void resize(long epochDay) {
+            long start = origin;
+            long end = origin + daily.length;
+            long slack = Math.max(32, daily.length >> 1);
+            if (epochDay < start) {
+                start = epochDay - slack;
+            } else {
+                end = epochDay + 1 + slack;
+            }
+            long[] grown = new long[(int) (end - start)];
+            System.arraycopy(daily, 0, grown, (int) (origin - start), daily.length);
+            origin = start;
+            daily = grown;
+
+            tree = new long[daily.length + 1];
+            for (int i = 1; i < tree.length; i++) {
+                tree[i] += daily[i - 1];
+                int parent = i + (i & -i);
+                if (parent < tree.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        /**
+         * Sum of the days before {@code epochDay}.
+         */
+        long prefix(long epochDay) {
+            long count = Math.min(Math.max(epochDay - origin, 0), daily.length);
+            long sum = 0;
+            for (int i = (int) count; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        long sum(long fromDay, long toDayExclusive) {
+            return toDayExclusive <= fromDay ? 0 : prefix(toDayExclusive) - prefix(fromDay);
+        }
+
+        /**
+         * Largest total over any {@code days} consecutive days, by sliding over the daily values.
+         */
+        long maxWindow(int days) {
+            long best = 0;
+            long current = 0;
+            for (int i = 0; i < daily.length; i++) {
+                current += daily[i];
+                if (i >= days) {
+                    current -= daily[i - days];
+                }
+                best = Math.max(best, current);
+            }
+            return best;
+        }
+    }
+
+    private final ColumnarLedger rows;
+    private final Map<Transaction.TransactionType, Series> byType = new EnumMap<>(Transaction.TransactionType.class);
+    private final Map<Transaction.TransactionType, Map<String, Series>> byCategory =
+        new EnumMap<>(Transaction.TransactionType.class);
+
+    FenwickIndex(ColumnarLedger rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void add(int docId) {
+        long day = rows.epochDay(docId);
+        long cents = rows.amountCents(docId);
+        byType.computeIfAbsent(rows.type(docId), type -> new Series()).add(day, cents);
+        byCategory.computeIfAbsent(rows.type(docId), type -> new HashMap<>())
+            .computeIfAbsent(rows.category(docId), category -> new Series())
+            .add(day, cents);
+    }
+
+    /**
+     * Total in cents of {@code type} within {@code range}, for one category or, when
+     * {@code category} is null, for all of them.
+     */
+    long total(Transaction.TransactionType type, String category, DateRange range) {
+        Series series = category == null
+            ? byType.get(type)
+            : byCategory.getOrDefault(type, Map.of()).get(category);
+        return series == null ? 0 : series.sum(range.start().toEpochDay(), range.end().toEpochDay());
+    }
+
+    /**
+     * Per-category totals in cents of {@code type} within {@code range}; categories with
+     * nothing in the range are left out.
+     */
+    Map<String, Long> totalsByCategory(Transaction.TransactionType type, DateRange range) {
+        Map<String, Long> totals = new HashMap<>();
+        long from = range.start().toEpochDay();
+        long to = range.end().toEpochDay();
+        for (Map.Entry<String, Series> entry : byCategory.getOrDefault(type, Map.of()).entrySet()) {
+            long sum = entry.getValue().sum(from, to);
+            if (sum != 0) {
+                totals.put(entry.getKey(), sum);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Largest total in cents of {@code type} over any run of {@code days} consecutive days.
+     */
+    long maxWindow(Transaction.TransactionType type, int days) {
+        Series series = byType.get(type);
+        return series == null ? 0 : series.maxWindow(days);
+    }
+}
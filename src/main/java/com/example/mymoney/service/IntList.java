@@ -0,0 +1,64 @@
+package com.example.mymoney.service;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of primitive ints, used for compact posting lists.
+ */
+final class IntList {
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(8);
+    }
+
+    IntList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int last() {
+        return values[size - 1];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * The backing array; only the first {@link #size()} entries are meaningful.
+     */
+    int[] array() {
+        return values;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Index of {@code value} in this list, which must be sorted ascending, or a negative number.
+     */
+    int binarySearch(int value) {
+        return Arrays.binarySearch(values, 0, size, value);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.mymoney.service;
+
+/**
+ * An in-memory index over one user's transactions, attached to a {@link UserLedger} and built
+ * over its {@link ColumnarLedger}. Indexes read row values from the columns rather than keeping
+ * their own copies. Document ids are dense and handed out in increasing order, so indexes may
+ * rely on them arriving sorted.
+ */
+interface LedgerIndex {
+    /**
+     * Indexes the row {@code docId}, which has just been appended to the columns.
+     */
+    void add(int docId);
+}
@@ -0,0 +1,44 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Lazily loaded {@link UserLedger}s. A user's ledger is read from the database the first time
+ * an in-memory index is needed, and from then on kept current by {@link DataService}'s write
+ * paths calling {@link #append} after each commit.
+ */
+final class LedgerRegistry {
+    private final ConcurrentMap<String, UserLedger> ledgers = new ConcurrentHashMap<>();
+    private final Function<String, List<Transaction>> loader;
+
+    LedgerRegistry(Function<String, List<Transaction>> loader) {
+        this.loader = loader;
+    }
+
+    UserLedger get(String userId) {
+        // Registered before loading, so a write committed during the load is appended (and
+        // de-duplicated) rather than lost
+        UserLedger ledger = ledgers.computeIfAbsent(userId, UserLedger::new);
+        ledger.ensureLoaded(() -> loader.apply(userId));
+        return ledger;
+    }
+
+    void append(Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            UserLedger ledger = ledgers.get(transaction.getUserId());
+            if (ledger != null) {
+                ledger.add(transaction);
+            }
+        }
+    }
+
+    void clear() {
+        ledgers.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.CategoryDictionary;
+
+import java.util.Arrays;
+
+/**
+ * Dense ids over the categories one user actually uses, mapped to and from
+ * {@link CategoryDictionary} ids, so per-category arrays are sized by the user's categories
+ * rather than every category the process has seen.
+ */
+final class LocalCategories {
+    // Local id by dictionary id (-1 when unused), and the reverse mapping
+    private int[] localIds = new int[0];
+    private final IntList dictionaryIds = new IntList();
+
+    /**
+     * The local id for {@code dictionaryId}, assigning the next one if it is new.
+     * {@link CategoryDictionary#NO_CATEGORY} maps to itself.
+     */
+    int localId(int dictionaryId) {
+        if (dictionaryId == CategoryDictionary.NO_CATEGORY) {
+            return CategoryDictionary.NO_CATEGORY;
+        }
+        if (dictionaryId >= localIds.length) {
+            int oldLength = localIds.length;
+            localIds = Arrays.copyOf(localIds, Math.max(dictionaryId + 1, CategoryDictionary.getInstance().size()));
+            Arrays.fill(localIds, oldLength, localIds.length, -1);
+        }
+        if (localIds[dictionaryId] < 0) {
+            localIds[dictionaryId] = dictionaryIds.size();
+            dictionaryIds.add(dictionaryId);
+        }
+        return localIds[dictionaryId];
+    }
+
+    int size() {
+        return dictionaryIds.size();
+    }
+
+    String name(int localId) {
+        return localId == CategoryDictionary.NO_CATEGORY
+            ? null
+            : CategoryDictionary.getInstance().name(dictionaryIds.get(localId));
+    }
+}
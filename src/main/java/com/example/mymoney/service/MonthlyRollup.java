@@ -0,0 +1,236 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.PooledConnection;
+import com.example.mymoney.model.CategoryDictionary;
+import com.example.mymoney.model.FinancialMetrics;
+import com.example.mymoney.model.Transaction;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains {@code monthly_rollup}: one row per (user, month, type, category) holding the sum
+ * and count of the matching transactions. Writers call {@link #apply} on the same connection
+ * and inside the same transaction as their INSERT, so the rollup never drifts from the raw rows.
+ */
+final class MonthlyRollup {
+    private static final String UPSERT_INSERT =
+        "INSERT INTO monthly_rollup (user_id, `year_month`, type, category, total, count) VALUES (?, ?, ?, ?, ?, ?) ";
+    // MySQL 8.0.20+ deprecates VALUES() in the update clause in favour of a row alias (added in 8.0.19).
+    // MariaDB, which XAMPP ships, has no row alias and keeps VALUES() as the supported form.
+    private static final String UPSERT_ROW_ALIAS_SQL = UPSERT_INSERT
+        + "AS new ON DUPLICATE KEY UPDATE total = monthly_rollup.total + new.total, count = monthly_rollup.count + new.count";
+    private static final String UPSERT_VALUES_SQL = UPSERT_INSERT
+        + "ON DUPLICATE KEY UPDATE total = total + VALUES(total), count = count + VALUES(count)";
+    private static final Pattern SERVER_VERSION = Pattern.compile("^(\\d+)\\.(\\d+)\\.(\\d+)");
+
+    private static volatile String upsertSql;
+
+    private static final String REBUILD_SELECT =
+        "SELECT user_id, DATE_FORMAT(transaction_date, '%Y-%m-01'), type, category, SUM(amount), COUNT(*) FROM transactions";
+    private static final String REBUILD_GROUP_BY =
+        " GROUP BY user_id, DATE_FORMAT(transaction_date, '%Y-%m-01'), type, category";
+
+    private record Key(String userId, YearMonth month, Transaction.TransactionType type, String category) {
+    }
+
+    private static final class Delta {
+        long cents;
+        int count;
+    }
+
+    /**
+     * One user's rollup rows folded into the totals the dashboard and reports show: overall,
+     * per month and per category, kept in cents.
+     */
+    static final class Summary {
+        private long incomeCents;
+        private long expenseCents;
+        private final TreeMap<YearMonth, Long> monthlyIncome = new TreeMap<>();
+        private final TreeMap<YearMonth, Long> monthlyExpenses = new TreeMap<>();
+        private final Map<String, Long> categorySpending = new HashMap<>();
+        private final Map<YearMonth, Map<String, Long>> monthlyCategorySpending = new HashMap<>();
+
+        private void add(YearMonth month, Transaction.TransactionType type, String category, long cents) {
+            if (type == Transaction.TransactionType.INCOME) {
+                incomeCents += cents;
+                monthlyIncome.merge(month, cents, Long::sum);
+                return;
+            }
+            expenseCents += cents;
+            monthlyExpenses.merge(month, cents, Long::sum);
+            categorySpending.merge(category, cents, Long::sum);
+            monthlyCategorySpending.computeIfAbsent(month, m -> new HashMap<>()).merge(category, cents, Long::sum);
+        }
+
+        FinancialMetrics metrics() {
+            return new FinancialMetrics(incomeCents / 100.0, expenseCents / 100.0);
+        }
+
+        SortedMap<YearMonth, Double> monthlyIncome() {
+            return toMonthlyAmounts(monthlyIncome);
+        }
+
+        SortedMap<YearMonth, Double> monthlyExpenses() {
+            return toMonthlyAmounts(monthlyExpenses);
+        }
+
+        Map<String, Double> categorySpending() {
+            return toCategoryAmounts(categorySpending);
+        }
+
+        Map<String, Double> categorySpending(YearMonth month) {
+            return toCategoryAmounts(monthlyCategorySpending.getOrDefault(month, Map.of()));
+        }
+
+        private static SortedMap<YearMonth, Double> toMonthlyAmounts(SortedMap<YearMonth, Long> cents) {
+            TreeMap<YearMonth, Double> amounts = new TreeMap<>();
+            cents.forEach((month, total) -> amounts.put(month, total / 100.0));
+            return Collections.unmodifiableSortedMap(amounts);
+        }
+
+        private static Map<String, Double> toCategoryAmounts(Map<String, Long> cents) {
+            Map<String, Double> amounts = new HashMap<>();
+            cents.forEach((category, total) -> {
+                if (total != 0) {
+                    amounts.put(category, total / 100.0);
+                }
+            });
+            return Collections.unmodifiableMap(amounts);
+        }
+    }
+
+    private MonthlyRollup() {
+    }
+
+    /**
+     * Folds {@code transactions} into the rollup. Rows that share a key are pre-aggregated so a
+     * chunk of a thousand inserts usually touches only a handful of rollup rows.
+     */
+    static void apply(PooledConnection conn, Collection<Transaction> transactions) throws SQLException {
+        Map<Key, Delta> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            Key key = new Key(transaction.getUserId(), YearMonth.from(transaction.getDate()),
+                transaction.getType(), transaction.getCategory());
+            Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+            delta.cents += Math.round(transaction.getAmount() * 100);
+            delta.count++;
+        }
+
+        PreparedStatement stmt = conn.prepareStatement(upsertSql(conn));
+        for (Map.Entry<Key, Delta> entry : deltas.entrySet()) {
+            Key key = entry.getKey();
+            stmt.setString(1, key.userId());
+            stmt.setDate(2, java.sql.Date.valueOf(key.month().atDay(1)));
+            stmt.setString(3, key.type().name());
+            stmt.setString(4, key.category());
+            stmt.setBigDecimal(5, BigDecimal.valueOf(entry.getValue().cents, 2));
+            stmt.setInt(6, entry.getValue().count);
+            stmt.addBatch();
+        }
+        stmt.executeBatch();
+    }
+
+    private static String upsertSql(PooledConnection conn) throws SQLException {
+        String sql = upsertSql;
+        if (sql == null) {
+            String version = conn.getConnection().getMetaData().getDatabaseProductVersion();
+            sql = supportsRowAlias(version) ? UPSERT_ROW_ALIAS_SQL : UPSERT_VALUES_SQL;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    private static boolean supportsRowAlias(String serverVersion) {
+        if (serverVersion.contains("MariaDB")) {
+            return false;
+        }
+        Matcher matcher = SERVER_VERSION.matcher(serverVersion);
+        if (!matcher.find()) {
+            return false;
+        }
+        int major = Integer.parseInt(matcher.group(1));
+        int minor = Integer.parseInt(matcher.group(2));
+        int patch = Integer.parseInt(matcher.group(3));
+        return major > 8 || (major == 8 && (minor > 0 || patch >= 19));
+    }
+
+    /**
+     * Reads every rollup row of one user, a range on the primary key, into a {@link Summary}.
+     * The row count grows with months times categories, not with the number of transactions.
+     */
+    static Summary read(PooledConnection conn, String userId) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(
+            "SELECT `year_month`, type, category, total FROM monthly_rollup WHERE user_id = ?");
+        stmt.setString(1, userId);
+
+        Summary summary = new Summary();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                summary.add(YearMonth.from(rs.getObject(1, LocalDate.class)),
+                    Transaction.TransactionType.valueOf(rs.getString(2)),
+                    CategoryDictionary.getInstance().intern(rs.getString(3)),
+                    rs.getBigDecimal(4).movePointRight(2).longValueExact());
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Recomputes one user's rollup rows from {@code transactions}. Runs in the caller's transaction.
+     */
+    static void rebuild(PooledConnection conn, String userId) throws SQLException {
+        PreparedStatement delete = conn.prepareStatement("DELETE FROM monthly_rollup WHERE user_id = ?");
+        delete.setString(1, userId);
+        delete.executeUpdate();
+
+        PreparedStatement insert = conn.prepareStatement(
+            "INSERT INTO monthly_rollup (user_id, `year_month`, type, category, total, count) "
+            + REBUILD_SELECT + " WHERE user_id = ?" + REBUILD_GROUP_BY);
+        insert.setString(1, userId);
+        insert.executeUpdate();
+    }
+
+    /**
+     * Recomputes the rollup for every user. Runs in the caller's transaction.
+     */
+    static void rebuildAll(PooledConnection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM monthly_rollup");
+            stmt.executeUpdate("INSERT INTO monthly_rollup (user_id, `year_month`, type, category, total, count) "
+                + REBUILD_SELECT + REBUILD_GROUP_BY);
+        }
+    }
+
+    /**
+     * Users who have transactions but no rollup rows, e.g. because the table was added to a
+     * database that already had history, or their rows were loaded outside the application.
+     */
+    static List<String> usersNeedingBackfill(PooledConnection conn) throws SQLException {
+        List<String> userIds = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT u.id FROM users u WHERE EXISTS(SELECT 1 FROM transactions t WHERE t.user_id = u.id)"
+                 + " AND NOT EXISTS(SELECT 1 FROM monthly_rollup r WHERE r.user_id = u.id)")) {
+            while (rs.next()) {
+                userIds.add(rs.getString(1));
+            }
+        }
+        return userIds;
+    }
+}
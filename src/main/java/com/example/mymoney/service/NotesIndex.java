@@ -0,0 +1,185 @@
+package com.example.mymoney.service;
+
+import java.util.*;
+
+/**
+ * Inverted index over transaction notes. Notes are split into case-folded alphanumeric tokens;
+ * each term keeps the ascending list of documents containing it and, per document, the token
+ * positions, so both multi-term AND queries and quoted phrases are answered from postings alone.
+ */
+final class NotesIndex implements LedgerIndex {
+
+    private static final class Postings {
+        final IntList docs = new IntList(2);
+        // positionStarts.get(i) is where docs.get(i)'s positions begin in positions
+        final IntList positionStarts = new IntList(2);
+        final IntList positions = new IntList(2);
+
+        int positionsEnd(int i) {
+            return i + 1 < positionStarts.size() ? positionStarts.get(i + 1) : positions.size();
+        }
+    }
+
+    private final ColumnarLedger rows;
+    private final Map<String, Postings> terms = new HashMap<>();
+
+    NotesIndex(ColumnarLedger rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void add(int docId) {
+        List<String> tokens = tokenize(rows.notes(docId));
+        for (int position = 0; position < tokens.size(); position++) {
+            Postings postings = terms.computeIfAbsent(tokens.get(position), term -> new Postings());
+            if (postings.docs.isEmpty() || postings.docs.last() != docId) {
+                postings.docs.add(docId);
+                postings.positionStarts.add(postings.positions.size());
+            }
+            postings.positions.add(position);
+        }
+    }
+
+    /**
+     * Documents matching every term and every quoted phrase in {@code query}, ascending.
+     * For example {@code grab "late night"} matches notes containing "grab" and the words
+     * "late night" next to each other.
+     */
+    int[] search(String query) {
+        List<List<String>> phrases = parseQuery(query);
+        if (phrases.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Postings> required = new ArrayList<>();
+        for (List<String> phrase : phrases) {
+            for (String term : phrase) {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    return new int[0];
+                }
+                required.add(postings);
+            }
+        }
+
+        // Intersect starting from the rarest term so the candidate set shrinks fastest
+        required.sort(Comparator.comparingInt(postings -> postings.docs.size()));
+        int[] candidates = required.get(0).docs.toArray();
+        for (int i = 1; i < required.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, required.get(i).docs);
+        }
+
+        IntList matches = new IntList(candidates.length);
+        for (int docId : candidates) {
+            if (containsPhrases(docId, phrases)) {
+                matches.add(docId);
+            }
+        }
+        return matches.toArray();
+    }
+
+    private boolean containsPhrases(int docId, List<List<String>> phrases) {
+        for (List<String> phrase : phrases) {
+            if (phrase.size() > 1 && !containsPhrase(docId, phrase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsPhrase(int docId, List<String> phrase) {
+        Postings first = terms.get(phrase.get(0));
+        int firstIndex = first.docs.binarySearch(docId);
+        for (int p = first.positionStarts.get(firstIndex); p < first.positionsEnd(firstIndex); p++) {
+            int start = first.positions.get(p);
+            boolean matched = true;
+            for (int offset = 1; offset < phrase.size() && matched; offset++) {
+                Postings next = terms.get(phrase.get(offset));
+                int index = next.docs.binarySearch(docId);
+                matched = Arrays.binarySearch(next.positions.array(), next.positionStarts.get(index),
+                    next.positionsEnd(index), start + offset) >= 0;
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorted intersection. Each candidate is located in {@code docs} by galloping from the
+     * previous match, so a short list against a long one costs O(m log n) rather than O(n).
+     */
+    static int[] intersect(int[] candidates, IntList docs) {
+        IntList result = new IntList(candidates.length);
+        int[] values = docs.array();
+        int size = docs.size();
+        int low = 0;
+        for (int candidate : candidates) {
+            int step = 1;
+            int high = low;
+            while (high < size && values[high] < candidate) {
+                low = high;
+                high += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(values, low, Math.min(high + 1, size), candidate);
+            if (found >= 0) {
+                result.add(candidate);
+                low = found + 1;
+            } else {
+                low = -found - 1;
+            }
+            if (low >= size) {
+                break;
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Splits a query into phrases: quoted text is one phrase, every other token is a phrase of
+     * one term.
+     */
+    static List<List<String>> parseQuery(String query) {
+        List<List<String>> phrases = new ArrayList<>();
+        if (query == null) {
+            return phrases;
+        }
+        String[] parts = query.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<String> tokens = tokenize(parts[i]);
+            if (i % 2 == 1) {
+                if (!tokens.isEmpty()) {
+                    phrases.add(tokens);
+                }
+            } else {
+                for (String token : tokens) {
+                    phrases.add(List.of(token));
+                }
+            }
+        }
+        return phrases;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.CategoryDictionary;
+import com.example.mymoney.model.Transaction;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs analytics over a list of transactions as splittable, mergeable aggregations on the
+ * common {@link ForkJoinPool}. Ranges at or below {@link #SEQUENTIAL_THRESHOLD} rows are folded
+ * on the current thread, so small accounts never pay for task scheduling.
+ */
+final class ParallelAnalytics {
+    static final int SEQUENTIAL_THRESHOLD = 8192;
+
+    /**
+     * An aggregation over a contiguous range of rows. {@link #merge} receives the partial for
+     * the earlier range first and may reuse either argument.
+     */
+    interface Aggregator<A, R> {
+        A newPartial();
+
+        void add(A partial, Transaction transaction);
+
+        A merge(A left, A right);
+
+        R finish(A partial);
+    }
+
+    private ParallelAnalytics() {
+    }
+
+    static <A, R> R run(List<Transaction> transactions, Aggregator<A, R> aggregator) {
+        List<Transaction> rows = transactions instanceof RandomAccess ? transactions : new ArrayList<>(transactions);
+        A partial = rows.size() <= SEQUENTIAL_THRESHOLD
+            ? fold(rows, 0, rows.size(), aggregator)
+            : ForkJoinPool.commonPool().invoke(new Split<>(rows, 0, rows.size(), aggregator));
+        return aggregator.finish(partial);
+    }
+
+    private static <A> A fold(List<Transaction> rows, int from, int to, Aggregator<A, ?> aggregator) {
+        A partial = aggregator.newPartial();
+        for (int i = from; i < to; i++) {
+            aggregator.add(partial, rows.get(i));
+        }
+        return partial;
+    }
+
+    private static final class Split<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks never leave the pool, so the rows and aggregator are not serialized
+        private final transient List<Transaction> rows;
+        private final int from;
+        private final int to;
+        private final transient Aggregator<A, ?> aggregator;
+
+        Split(List<Transaction> rows, int from, int to, Aggregator<A, ?> aggregator) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.aggregator = aggregator;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return fold(rows, from, to, aggregator);
+            }
+            int mid = (from + to) >>> 1;
+            Split<A> left = new Split<>(rows, from, mid, aggregator);
+            left.fork();
+            A right = new Split<>(rows, mid, to, aggregator).compute();
+            return aggregator.merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Sum and count of one transaction type per category, indexed by dictionary id.
+     */
+    static final class CategoryTotals implements Aggregator<CategoryTotals.Partial, Map<String, Double>> {
+        static final class Partial {
+            double[] sums = new double[CategoryDictionary.getInstance().size()];
+            int[] counts = new int[sums.length];
+
+            void grow(int length) {
+                if (length > sums.length) {
+                    sums = Arrays.copyOf(sums, length);
+                    counts = Arrays.copyOf(counts, length);
+                }
+            }
+        }
+
+        private final Transaction.TransactionType type;
+
+        CategoryTotals(Transaction.TransactionType type) {
+            this.type = type;
+        }
+
+        @Override
+        public Partial newPartial() {
+            return new Partial();
+        }
+
+        @Override
+        public void add(Partial partial, Transaction transaction) {
+            int id = transaction.getCategoryId();
+            if (transaction.getType() != type || id == CategoryDictionary.NO_CATEGORY) {
+                return;
+            }
+            if (id >= partial.sums.length) {
+                partial.grow(Math.max(id + 1, CategoryDictionary.getInstance().size()));
+            }
+            partial.sums[id] += transaction.getAmount();
+            partial.counts[id]++;
+        }
+
+        @Override
+        public Partial merge(Partial left, Partial right) {
+            left.grow(right.sums.length);
+            for (int id = 0; id < right.sums.length; id++) {
+                left.sums[id] += right.sums[id];
+                left.counts[id] += right.counts[id];
+            }
+            return left;
+        }
+
+        @Override
+        public Map<String, Double> finish(Partial partial) {
+            CategoryDictionary dictionary = CategoryDictionary.getInstance();
+            Map<String, Double> totals = new HashMap<>();
+            for (int id = 0; id < partial.sums.length; id++) {
+                if (partial.counts[id] > 0) {
+                    totals.put(dictionary.name(id), partial.sums[id]);
+                }
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * The {@code k} largest (or smallest) transactions by amount, best first. Each partial is a
+     * bounded heap whose root is the weakest row kept.
+     */
+    static final class TopK implements Aggregator<PriorityQueue<Transaction>, List<Transaction>> {
+        private final int k;
+        private final Comparator<Transaction> weakestFirst;
+
+        TopK(int k, boolean highest) {
+            this.k = k;
+            Comparator<Transaction> byAmount = Comparator.comparingDouble(Transaction::getAmount);
+            this.weakestFirst = highest ? byAmount : byAmount.reversed();
+        }
+
+        @Override
+        public PriorityQueue<Transaction> newPartial() {
+            return new PriorityQueue<>(weakestFirst);
+        }
+
+        @Override
+        public void add(PriorityQueue<Transaction> heap, Transaction transaction) {
+            if (k <= 0) {
+                return;
+            }
+            if (heap.size() < k) {
+                heap.offer(transaction);
+            } else if (weakestFirst.compare(transaction, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(transaction);
+            }
+        }
+
+        @Override
+        public PriorityQueue<Transaction> merge(PriorityQueue<Transaction> left, PriorityQueue<Transaction> right) {
+            PriorityQueue<Transaction> larger = left.size() >= right.size() ? left : right;
+            PriorityQueue<Transaction> smaller = larger == left ? right : left;
+            for (Transaction transaction : smaller) {
+                add(larger, transaction);
+            }
+            return larger;
+        }
+
+        @Override
+        public List<Transaction> finish(PriorityQueue<Transaction> heap) {
+            List<Transaction> result = new ArrayList<>(heap);
+            result.sort(weakestFirst.reversed());
+            return result;
+        }
+    }
+
+    /**
+     * Highest expense total over any span where the last and first dates are at most
+     * {@code windowDays} apart. Partials are dense arrays of daily expense totals, so the rows
+     * need not be in date order; the window slides over the covered days once at the end.
+     */
+    static final class WindowMax implements Aggregator<WindowMax.DailyTotals, Double> {
+        static final class DailyTotals {
+            long origin;
+            double[] totals = new double[0];
+
+            void add(long epochDay, double amount) {
+                if (totals.length == 0) {
+                    origin = epochDay;
+                    totals = new double[32];
+                } else if (epochDay < origin || epochDay >= origin + totals.length) {
+                    long start = Math.min(origin, epochDay);
+                    long end = Math.max(origin + totals.length, epochDay + 1);
+                    long slack = Math.max(32, totals.length >> 1);
+                    start = epochDay < origin ? start - slack : start;
+                    end = epochDay >= origin ? end + slack : end;
+                    double[] grown = new double[(int) (end - start)];
+                    System.arraycopy(totals, 0, grown, (int) (origin - start), totals.length);
+                    origin = start;
+                    totals = grown;
+                }
+                totals[(int) (epochDay - origin)] += amount;
+            }
+        }
+
+        private final int windowDays;
+
+        WindowMax(int windowDays) {
+            this.windowDays = windowDays;
+        }
+
+        @Override
+        public DailyTotals newPartial() {
+            return new DailyTotals();
+        }
+
+        @Override
+        public void add(DailyTotals partial, Transaction transaction) {
+            if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+                partial.add(transaction.getDate().toEpochDay(), transaction.getAmount());
+            }
+        }
+
+        @Override
+        public DailyTotals merge(DailyTotals left, DailyTotals right) {
+            for (int i = 0; i < right.totals.length; i++) {
+                if (right.totals[i] != 0) {
+                    left.add(right.origin + i, right.totals[i]);
+                }
+            }
+            return left;
+        }
+
+        @Override
+        public Double finish(DailyTotals partial) {
+            double[] totals = partial.totals;
+            double max = 0.0;
+            double current = 0.0;
+            for (int day = 0; day < totals.length; day++) {
+                current += totals[day];
+                if (day > windowDays) {
+                    current -= totals[day - windowDays - 1];
+                }
+                max = Math.max(max, current);
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Same-day category graph: per-day bitsets of the categories present and of those seen more
+     * than once, merged by OR across partials. A category is in the graph when its day had at
+     * least two transactions; its neighbours are the other categories it shared a day with.
+     */
+    static final class CoOccurrence implements Aggregator<Map<Long, CoOccurrence.Day>, Map<String, List<String>>> {
+        static final class Day {
+            final BitSet present = new BitSet();
+            final BitSet repeated = new BitSet();
+        }
+
+        @Override
+        public Map<Long, Day> newPartial() {
+            return new HashMap<>();
+        }
+
+        @Override
+        public void add(Map<Long, Day> days, Transaction transaction) {
+            int id = transaction.getCategoryId();
+            if (id == CategoryDictionary.NO_CATEGORY) {
+                return;
+            }
+            Day day = days.computeIfAbsent(transaction.getDate().toEpochDay(), d -> new Day());
+            if (day.present.get(id)) {
+                day.repeated.set(id);
+            }
+            day.present.set(id);
+        }
+
+        @Override
+        public Map<Long, Day> merge(Map<Long, Day> left, Map<Long, Day> right) {
+            right.forEach((epochDay, other) -> {
+                Day day = left.get(epochDay);
+                if (day == null) {
+                    left.put(epochDay, other);
+                    return;
+                }
+                BitSet both = (BitSet) day.present.clone();
+                both.and(other.present);
+                day.repeated.or(both);
+                day.repeated.or(other.repeated);
+                day.present.or(other.present);
+            });
+            return left;
+        }
+
+        @Override
+        public Map<String, List<String>> finish(Map<Long, Day> days) {
+            Map<Integer, BitSet> neighbours = new HashMap<>();
+            for (Day day : days.values()) {
+                if (day.present.cardinality() < 2 && day.repeated.isEmpty()) {
+                    continue;
+                }
+                for (int a = day.present.nextSetBit(0); a >= 0; a = day.present.nextSetBit(a + 1)) {
+                    BitSet others = neighbours.computeIfAbsent(a, id -> new BitSet());
+                    others.or(day.present);
+                }
+            }
+
+            CategoryDictionary dictionary = CategoryDictionary.getInstance();
+            Map<String, List<String>> graph = new HashMap<>();
+            neighbours.forEach((category, others) -> {
+                List<String> names = new ArrayList<>();
+                for (int b = others.nextSetBit(0); b >= 0; b = others.nextSetBit(b + 1)) {
+                    if (b != category) {
+                        names.add(dictionary.name(b));
+                    }
+                }
+                graph.put(dictionary.name(category), names);
+            });
+            return graph;
+        }
+    }
+}
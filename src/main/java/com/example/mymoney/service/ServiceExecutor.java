@@ -0,0 +1,45 @@
+package com.example.mymoney.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs service calls off the JavaFX Application Thread. Each task gets its own virtual thread,
+ * so a task blocked on JDBC parks cheaply. Concurrency against the database is still bounded by
+ * the connection pool.
+ */
+public final class ServiceExecutor {
+    private static ServiceExecutor instance;
+    private final ExecutorService executor;
+
+    private ServiceExecutor() {
+        this.executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("mymoney-service-", 0).factory());
+    }
+
+    public static synchronized ServiceExecutor getInstance() {
+        if (instance == null) {
+            instance = new ServiceExecutor();
+        }
+        return instance;
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.DatabaseManager;
+import com.example.mymoney.model.BatchInsertResult;
+import com.example.mymoney.model.Transaction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Produces realistic, repeatable transaction histories for load and scale testing: twice-monthly
+ * salary with a December 13th-month bonus, occasional freelance income, rent and utility bills
+ * on fixed days, bursty weekend-heavy grocery runs, discretionary spending that peaks in
+ * November and December, and notes of varying length.
+ *
+ * <p>Every user gets its own {@link SplittableRandom} derived from the seed and the user id, so
+ * the same seed, user id and period always give the same rows, ids included, no matter how many
+ * other users are generated or in what order. Rows come out in date order.
+ *
+ * <p>Run {@link #main} to write CSV files the import dialog accepts, to insert straight into
+ * the database, or to rebuild the monthly rollup after rows were loaded some other way.
+ */
+public final class SyntheticLedgerGenerator {
+
+    /**
+     * Amounts are in pesos; rates are means of Poisson draws.
+     */
+    public record Profile(
+        double monthlySalary,
+        double salaryVariation,
+        double freelanceChancePerMonth,
+        double rent,
+        double utilitiesPerMonth,
+        double groceryTripsPerWeek,
+        double groceryBasket,
+        double discretionaryPerDay,
+        double discretionaryAmount,
+        double holidayPeak,
+        int maxNoteWords) {
+
+        public static Profile defaults() {
+            return new Profile(45_000, 0.3, 0.25, 12_000, 3_500, 2.5, 1_800, 1.2, 350, 1.8, 12);
+        }
+    }
+
+    private static final String[] DISCRETIONARY_CATEGORIES = {
+        "Food", "Transportation", "Entertainment", "Shopping", "Healthcare", "Travel", "Gifts", "Pets", "Education"
+    };
+    private static final double[] DISCRETIONARY_WEIGHTS = {0.34, 0.24, 0.1, 0.12, 0.05, 0.03, 0.04, 0.04, 0.04};
+    private static final double[] DISCRETIONARY_SCALE = {0.6, 0.5, 1.5, 2.5, 2.0, 12.0, 3.0, 1.5, 4.0};
+
+    private static final String[] MERCHANTS = {
+        "SM Supermarket", "Puregold", "Jollibee", "7-Eleven", "Mercury Drug", "Grab", "Shopee", "Lazada",
+        "Meralco", "Maynilad", "PLDT", "Netflix", "Starbucks", "National Book Store", "Cebu Pacific"
+    };
+    private static final String[] NOTE_WORDS = {
+        "weekly", "monthly", "groceries", "lunch", "dinner", "with", "family", "friends", "office", "promo",
+        "refill", "delivery", "rice", "milk", "vegetables", "fare", "birthday", "gift", "medicine", "school",
+        "supplies", "bill", "late", "fee", "installment", "sale", "snacks", "coffee", "weekend", "trip"
+    };
+
+    private static final double MAX_AMOUNT = 99_999_999.99;
+
+    private final long seed;
+    private final Profile profile;
+
+    public SyntheticLedgerGenerator(long seed) {
+        this(seed, Profile.defaults());
+    }
+
+    public SyntheticLedgerGenerator(long seed, Profile profile) {
+        this.seed = seed;
+        this.profile = profile;
+    }
+
+    /**
+     * Streams {@code years} of history for {@code userId} starting at {@code start} into
+     * {@code sink}, in date order.
+     */
+    public void generate(String userId, LocalDate start, int years, Consumer<Transaction> sink) {
+        SplittableRandom random = new SplittableRandom(seed ^ (userId.hashCode() * 0x9E3779B97F4A7C15L));
+        // Per-user traits: some earn and spend more than others
+        double salary = profile.monthlySalary() * Math.exp(random.nextGaussian() * profile.salaryVariation());
+        double spendingLevel = Math.exp(random.nextGaussian() * 0.25);
+
+        LocalDate end = start.plusYears(years);
+        for (LocalDate day = start; day.isBefore(end); day = day.plusDays(1)) {
+            income(userId, day, salary, random, sink);
+            bills(userId, day, spendingLevel, random, sink);
+            groceries(userId, day, spendingLevel, random, sink);
+            discretionary(userId, day, spendingLevel, random, sink);
+        }
+    }
+
+    public List<Transaction> generate(String userId, LocalDate start, int years) {
+        List<Transaction> transactions = new ArrayList<>();
+        generate(userId, start, years, transactions::add);
+        return transactions;
+    }
+
+    /**
+     * Generates the history and bulk-inserts it. {@code userId} must already exist.
+     */
+    public BatchInsertResult insert(DataService dataService, String userId, LocalDate start, int years) {
+        return dataService.addTransactions(generate(userId, start, years));
+    }
+
+    /**
+     * Writes the history as {@code Date,Type,Category,Amount,Notes} CSV, the format the importer
+     * reads, and returns the number of rows written.
+     */
+    public long writeCsv(String userId, LocalDate start, int years, Path file) throws IOException {
+        long[] rows = new long[1];
+        try (CsvChannelWriter writer = new CsvChannelWriter(file)) {
+            writer.field("Date").field("Type").field("Category").field("Amount").field("Notes");
+            writer.endRow();
+            IOException[] failure = new IOException[1];
+            generate(userId, start, years, transaction -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    writer.dateField(transaction.getDate())
+                        .field(transaction.getType().name())
+                        .field(transaction.getCategory())
+                        .centsField(Math.round(transaction.getAmount() * 100))
+                        .quotedField(transaction.getNotes());
+                    writer.endRow();
+                    rows[0]++;
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+        return rows[0];
+    }
+
+    private void income(String userId, LocalDate day, double salary, SplittableRandom random, Consumer<Transaction> sink) {
+        if (day.getDayOfMonth() == 15 || day.getDayOfMonth() == day.lengthOfMonth()) {
+            sink.accept(transaction(userId, Transaction.TransactionType.INCOME, salary / 2, "Salary",
+                "Payroll " + day.getMonth().name().toLowerCase(), day, random));
+        }
+        if (day.getMonth() == Month.DECEMBER && day.getDayOfMonth() == 15) {
+            sink.accept(transaction(userId, Transaction.TransactionType.INCOME, salary, "Salary",
+                "13th month pay", day, random));
+        }
+        if (random.nextDouble() < profile.freelanceChancePerMonth() / day.lengthOfMonth()) {
+            sink.accept(transaction(userId, Transaction.TransactionType.INCOME,
+                logNormal(salary * 0.3, 0.6, random), "Freelance", note(random), day, random));
+        }
+        if (day.getDayOfMonth() == 1 && day.getMonthValue() % 3 == 1 && random.nextDouble() < 0.5) {
+            sink.accept(transaction(userId, Transaction.TransactionType.INCOME,
+                logNormal(salary * 0.05, 0.8, random), "Investment", "Quarterly dividends", day, random));
+        }
+    }
+
+    private void bills(String userId, LocalDate day, double level, SplittableRandom random, Consumer<Transaction> sink) {
+        double utilities = profile.utilitiesPerMonth() * level;
+        // Electricity climbs in the hot months
+        double heat = day.getMonth() == Month.APRIL || day.getMonth() == Month.MAY ? 1.35 : 1.0;
+        switch (day.getDayOfMonth()) {
+            case 1 -> sink.accept(expense(userId, profile.rent(), "Rent", "Monthly rent", day, random));
+            case 5 -> sink.accept(expense(userId, logNormal(utilities * 0.6 * heat, 0.15, random), "Utilities",
+                "Meralco electric bill", day, random));
+            case 8 -> sink.accept(expense(userId, logNormal(utilities * 0.15, 0.2, random), "Utilities",
+                "Maynilad water bill", day, random));
+            case 12 -> sink.accept(expense(userId, utilities * 0.25, "Utilities", "PLDT fiber internet", day, random));
+            case 20 -> sink.accept(expense(userId, 549, "Subscriptions", "Netflix", day, random));
+            default -> {
+            }
+        }
+        if (day.getDayOfMonth() == 3 && day.getMonthValue() % 3 == 1) {
+            sink.accept(expense(userId, 4_500 * level, "Insurance", "Quarterly premium", day, random));
+        }
+    }
+
+    private void groceries(String userId, LocalDate day, double level, SplittableRandom random, Consumer<Transaction> sink) {
+        boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+        double rate = profile.groceryTripsPerWeek() / 7 * (weekend ? 2.0 : 0.6);
+        int trips = poisson(rate, random);
+        for (int trip = 0; trip < trips; trip++) {
+            // A trip is often split across several receipts on the same day
+            int receipts = 1 + poisson(0.6, random);
+            for (int receipt = 0; receipt < receipts; receipt++) {
+                sink.accept(expense(userId, logNormal(profile.groceryBasket() * level / receipts, 0.5, random),
+                    "Groceries", note(random), day, random));
+            }
+        }
+    }
+
+    private void discretionary(String userId, LocalDate day, double level, SplittableRandom random,
+                               Consumer<Transaction> sink) {
+        double season = seasonalFactor(day);
+        int events = poisson(profile.discretionaryPerDay() * season, random);
+        for (int i = 0; i < events; i++) {
+            int category = pick(DISCRETIONARY_WEIGHTS, random);
+            double amount = logNormal(profile.discretionaryAmount() * DISCRETIONARY_SCALE[category] * level * season,
+                0.7, random);
+            sink.accept(expense(userId, amount, DISCRETIONARY_CATEGORIES[category], note(random), day, random));
+        }
+    }
+
+    /**
+     * Spending is highest through the Christmas season and a little higher right after paydays.
+     */
+    private double seasonalFactor(LocalDate day) {
+        double peak = profile.holidayPeak();
+        double factor = switch (day.getMonth()) {
+            case DECEMBER -> peak;
+            case NOVEMBER -> 1 + (peak - 1) / 2;
+            case JANUARY -> 0.8;
+            default -> 1.0;
+        };
+        int dayOfMonth = day.getDayOfMonth();
+        if ((dayOfMonth >= 15 && dayOfMonth <= 17) || dayOfMonth <= 2) {
+            factor *= 1.25;
+        }
+        return factor;
+    }
+
+    private String note(SplittableRandom random) {
+        StringBuilder note = new StringBuilder(MERCHANTS[random.nextInt(MERCHANTS.length)]);
+        // Mostly short notes with a long tail of detailed ones
+        int words = Math.min(profile.maxNoteWords(), poisson(random.nextDouble() < 0.1 ? 8 : 1.5, random));
+        for (int i = 0; i < words; i++) {
+            note.append(' ').append(NOTE_WORDS[random.nextInt(NOTE_WORDS.length)]);
+        }
+        return note.toString();
+    }
+
+    private Transaction expense(String userId, double amount, String category, String notes, LocalDate day,
+                                SplittableRandom random) {
+        return transaction(userId, Transaction.TransactionType.EXPENSE, amount, category, notes, day, random);
+    }
+
+    private static Transaction transaction(String userId, Transaction.TransactionType type, double amount,
+                                           String category, String notes, LocalDate day, SplittableRandom random) {
+        double rounded = Math.min(MAX_AMOUNT, Math.max(1.0, Math.round(amount * 100) / 100.0));
+        String id = new UUID(random.nextLong(), random.nextLong()).toString();
+        return new Transaction(id, userId, type, rounded, category, notes, day);
+    }
+
+    private static double logNormal(double median, double sigma, SplittableRandom random) {
+        return median * Math.exp(random.nextGaussian() * sigma);
+    }
+
+    private static int poisson(double mean, SplittableRandom random) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static int pick(double[] weights, SplittableRandom random) {
+        double target = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < weights.length; i++) {
+            cumulative += weights[i];
+            if (target < cumulative) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * {@code --users N --years M [--seed S] [--start yyyy-MM-dd] (--csv DIR | --database)}, or
+     * {@code --rebuild-rollup} on its own. CSV output writes one {@code synthetic-user-<i>.csv}
+     * per user. Database output registers {@code synthetic-user-<i>} accounts (password
+     * {@code synthetic}) if needed and bulk-inserts their histories. {@code --rebuild-rollup}
+     * recomputes {@code monthly_rollup} for every user from the raw transactions, e.g. after rows
+     * were edited or loaded outside the application.
+     */
+    public static void main(String[] args) throws IOException {
+        int users = 1;
+        int years = 1;
+        long seed = 42L;
+        LocalDate start = null;
+        Path csvDirectory = null;
+        boolean database = false;
+        boolean rebuildRollup = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--users" -> users = Integer.parseInt(args[++i]);
+                case "--years" -> years = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--start" -> start = LocalDate.parse(args[++i]);
+                case "--csv" -> csvDirectory = Path.of(args[++i]);
+                case "--database" -> database = true;
+                case "--rebuild-rollup" -> rebuildRollup = true;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        int modes = (csvDirectory != null ? 1 : 0) + (database ? 1 : 0) + (rebuildRollup ? 1 : 0);
+        if (modes != 1) {
+            throw new IllegalArgumentException("Choose exactly one of --csv DIR, --database or --rebuild-rollup");
+        }
+        if (rebuildRollup) {
+            try {
+                if (DataService.getInstance().rebuildMonthlyRollup()) {
+                    System.out.println("Monthly rollup rebuilt");
+                }
+            } finally {
+                ServiceExecutor.getInstance().shutdown();
+                DatabaseManager.getInstance().close();
+            }
+            return;
+        }
+        if (start == null) {
+            start = LocalDate.now().withDayOfYear(1).minusYears(years);
+        }
+
+        SyntheticLedgerGenerator generator = new SyntheticLedgerGenerator(seed);
+        if (csvDirectory != null) {
+            Files.createDirectories(csvDirectory);
+            for (int user = 0; user < users; user++) {
+                String name = "synthetic-user-" + user;
+                long rows = generator.writeCsv(name, start, years, csvDirectory.resolve(name + ".csv"));
+                System.out.println(name + ": " + rows + " rows");
+            }
+            return;
+        }
+
+        AuthenticationService auth = AuthenticationService.getInstance();
+        DataService dataService = DataService.getInstance();
+        try {
+            for (int user = 0; user < users; user++) {
+                String name = "synthetic-user-" + user;
+                auth.register(name, "synthetic");
+                if (!auth.login(name, "synthetic")) {
+                    System.err.println("❌ Could not log in as " + name + "!");
+                    continue;
+                }
+                BatchInsertResult result = generator.insert(dataService, auth.getCurrentUser().getId(), start, years);
+                auth.logout();
+                System.out.println(name + ": " + result);
+            }
+        } finally {
+            ServiceExecutor.getInstance().shutdown();
+            DatabaseManager.getInstance().close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.PageCursor;
+import com.example.mymoney.model.TransactionPage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Walks one user's transactions page by page with keyset pagination. The start cursor of every
+ * page seen so far is remembered, and the most recently used pages are kept in a small LRU
+ * cache. Both are dropped as soon as the user's data changes.
+ */
+public class TransactionPager {
+    private final DataService dataService;
+    private final String userId;
+    private final int pageSize;
+    private final int maxCachedPages;
+
+    // pageStarts.get(i) is the cursor page i starts after; page 0 starts at the top
+    private final List<PageCursor> pageStarts = new ArrayList<>();
+    private final Map<Integer, TransactionPage> pageCache;
+    private long version = -1;
+    // Page queries run while holding this; a ReentrantLock parks virtual threads instead of pinning them
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TransactionPager(DataService dataService, String userId, int pageSize, int maxCachedPages) {
+        if (pageSize <= 0 || maxCachedPages <= 0) {
+            throw new IllegalArgumentException("Page size and cache size must be positive");
+        }
+        this.dataService = dataService;
+        this.userId = userId;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.pageCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TransactionPage> eldest) {
+                return size() > TransactionPager.this.maxCachedPages;
+            }
+        };
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns page {@code index}, or an empty page past the end. Pages before it whose start
+     * cursor is not yet known are fetched first.
+     */
+    public TransactionPage getPage(int index) {
+        lock.lock();
+        try {
+            long current = dataService.dataVersion(userId);
+            if (current != version) {
+                pageStarts.clear();
+                pageStarts.add(null);
+                pageCache.clear();
+                version = current;
+            }
+
+            TransactionPage cached = pageCache.get(index);
+            if (cached != null) {
+                return cached;
+            }
+
+            TransactionPage page = null;
+            for (int i = Math.min(index, pageStarts.size() - 1); i <= index; i++) {
+                if (i > 0 && pageStarts.get(i) == null) {
+                    return new TransactionPage(List.of(), null);
+                }
+                page = pageCache.get(i);
+                if (page == null) {
+                    page = dataService.getTransactionsPage(userId, pageStarts.get(i), pageSize);
+                    pageCache.put(i, page);
+                }
+                if (pageStarts.size() == i + 1) {
+                    pageStarts.add(page.next());
+                }
+            }
+            return page;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CompletableFuture<TransactionPage> getPageAsync(int index) {
+        return ServiceExecutor.getInstance().supply(() -> getPage(index));
+    }
+}
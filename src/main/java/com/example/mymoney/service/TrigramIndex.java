@@ -0,0 +1,260 @@
+package com.example.mymoney.service;
+
+import java.util.*;
+
+/**
+ * Trigram index over each transaction's category and notes, for substring and typo-tolerant
+ * search. Every case-folded three-character window maps to the ascending list of documents
+ * containing it. A query first narrows to documents that share enough of its trigrams, then
+ * candidates are verified against their text, folded again from the user's columns.
+ */
+final class TrigramIndex implements LedgerIndex {
+    private final ColumnarLedger rows;
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private int docCount;
+
+    // Per-query scratch space; safe because the owning ledger serializes access
+    private int[] hitCounts = new int[0];
+
+    /**
+     * A matching document and the edit distance of its best-matching substring.
+     */
+    record Match(int docId, int distance) {
+    }
+
+    TrigramIndex(ColumnarLedger rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void add(int docId) {
+        String text = text(docId);
+        docCount = Math.max(docCount, docId + 1);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            IntList docs = postings.computeIfAbsent(trigram(text, i), key -> new IntList(2));
+            if (docs.isEmpty() || docs.last() != docId) {
+                docs.add(docId);
+            }
+        }
+    }
+
+    /**
+     * Documents whose category or notes contain {@code fragment}, ignoring case, ascending.
+     * Fragments shorter than three characters have no trigram and fall back to a linear scan.
+     */
+    int[] searchSubstring(String fragment) {
+        String query = fold(fragment);
+        if (query.isEmpty()) {
+            return new int[0];
+        }
+
+        IntList matches = new IntList();
+        if (query.length() < 3) {
+            // Too short to have a trigram; the texts are short, so scan them
+            for (int docId = 0; docId < docCount; docId++) {
+                if (text(docId).contains(query)) {
+                    matches.add(docId);
+                }
+            }
+            return matches.toArray();
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            IntList docs = postings.get(trigram(query, i));
+            if (docs == null) {
+                return new int[0];
+            }
+            lists.add(docs);
+        }
+        lists.sort(Comparator.comparingInt(IntList::size));
+
+        int[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        for (int docId : candidates) {
+            if (text(docId).contains(query)) {
+                matches.add(docId);
+            }
+        }
+        return matches.toArray();
+    }
+
+    /**
+     * Documents containing a substring within {@code maxEdits} edits of {@code query}, best
+     * first. By the q-gram lemma such a document shares at least
+     * {@code (n - 2) - 3 * maxEdits} of the query's n - 2 trigrams; when that bound drops to
+     * zero, at least one shared trigram is required so the search never degrades to a scan.
+     */
+    List<Match> searchFuzzy(String query, int maxEdits, int limit) {
+        String folded = fold(query);
+        if (folded.length() < 3) {
+            List<Match> matches = new ArrayList<>();
+            for (int docId : searchSubstring(folded)) {
+                matches.add(new Match(docId, 0));
+            }
+            return matches.size() > limit ? matches.subList(0, limit) : matches;
+        }
+
+        if (hitCounts.length < docCount) {
+            hitCounts = new int[Math.max(docCount, hitCounts.length * 2)];
+        }
+
+        // Count shared distinct trigrams per document
+        IntList touched = new IntList();
+        Set<Long> seen = new HashSet<>();
+        int trigramCount = 0;
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            long key = trigram(folded, i);
+            if (!seen.add(key)) {
+                continue;
+            }
+            trigramCount++;
+            IntList docs = postings.get(key);
+            if (docs == null) {
+                continue;
+            }
+            int[] values = docs.array();
+            for (int j = 0; j < docs.size(); j++) {
+                if (hitCounts[values[j]]++ == 0) {
+                    touched.add(values[j]);
+                }
+            }
+        }
+
+        int threshold = Math.max(1, trigramCount - 3 * maxEdits);
+        BitPattern pattern = folded.length() <= Long.SIZE ? new BitPattern(folded) : null;
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < touched.size(); i++) {
+            int docId = touched.get(i);
+            if (hitCounts[docId] >= threshold) {
+                String text = text(docId);
+                int distance = pattern != null ? pattern.substringEditDistance(text) : substringEditDistance(folded, text);
+                if (distance <= maxEdits) {
+                    matches.add(new Match(docId, distance));
+                }
+            }
+            hitCounts[docId] = 0;
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance)
+            .thenComparing(Comparator.comparingInt(Match::docId).reversed()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Sellers' algorithm: the smallest edit distance between {@code pattern} and any substring
+     * of {@code text}, in O(|pattern| * |text|) time and O(|pattern|) space.
+     */
+    static int substringEditDistance(String pattern, String text) {
+        int m = pattern.length();
+        int[] column = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            column[i] = i;
+        }
+
+        int best = column[m];
+        for (int j = 0; j < text.length() && best > 0; j++) {
+            char c = text.charAt(j);
+            // column[0] stays 0: a match may start anywhere in the text
+            int diagonal = 0;
+            for (int i = 1; i <= m; i++) {
+                int above = column[i];
+                int cost = pattern.charAt(i - 1) == c ? 0 : 1;
+                column[i] = Math.min(Math.min(column[i - 1] + 1, above + 1), diagonal + cost);
+                diagonal = above;
+            }
+            best = Math.min(best, column[m]);
+        }
+        return best;
+    }
+
+    /**
+     * Myers' bit-parallel form of {@link #substringEditDistance} for patterns of up to 64
+     * characters: one column of the DP table is held in two bit vectors, so each text character
+     * costs a handful of word operations instead of |pattern| cell updates.
+     */
+    static final class BitPattern {
+        private final long[] asciiMasks = new long[128];
+        private final Map<Character, Long> otherMasks = new HashMap<>();
+        private final int length;
+        private final long highBit;
+
+        BitPattern(String pattern) {
+            if (pattern.isEmpty() || pattern.length() > Long.SIZE) {
+                throw new IllegalArgumentException("Pattern length must be 1-64: " + pattern.length());
+            }
+            this.length = pattern.length();
+            this.highBit = 1L << (length - 1);
+            for (int i = 0; i < length; i++) {
+                char c = pattern.charAt(i);
+                if (c < 128) {
+                    asciiMasks[c] |= 1L << i;
+                } else {
+                    otherMasks.merge(c, 1L << i, (a, b) -> a | b);
+                }
+            }
+        }
+
+        int substringEditDistance(String text) {
+            long positive = -1L;
+            long negative = 0L;
+            int score = length;
+            int best = score;
+            for (int j = 0; j < text.length() && best > 0; j++) {
+                char c = text.charAt(j);
+                long eq = c < 128 ? asciiMasks[c] : otherMasks.getOrDefault(c, 0L);
+                long xv = eq | negative;
+                long xh = (((eq & positive) + positive) ^ positive) | eq;
+                long ph = negative | ~(xh | positive);
+                long mh = positive & xh;
+                if ((ph & highBit) != 0) {
+                    score++;
+                } else if ((mh & highBit) != 0) {
+                    score--;
+                }
+                // No carry-in on the shift: a match may start at any text position
+                ph <<= 1;
+                mh <<= 1;
+                positive = mh | ~(xv | ph);
+                negative = ph & xv;
+                best = Math.min(best, score);
+            }
+            return best;
+        }
+    }
+
+    private static int[] intersect(int[] candidates, IntList docs) {
+        IntList result = new IntList(candidates.length);
+        int[] values = docs.array();
+        int j = 0;
+        for (int candidate : candidates) {
+            while (j < docs.size() && values[j] < candidate) {
+                j++;
+            }
+            if (j == docs.size()) {
+                break;
+            }
+            if (values[j] == candidate) {
+                result.add(candidate);
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * The searchable text of a document: its category and notes, case-folded.
+     */
+    private String text(int docId) {
+        return fold(rows.category(docId)) + '\n' + fold(rows.notes(docId));
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static String fold(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
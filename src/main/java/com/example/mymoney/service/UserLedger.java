@@ -0,0 +1,148 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of one user's transactions that in-memory indexes are attached to. Rows live
+ * in a {@link ColumnarLedger} and {@link Transaction}s are only built when a caller asks for
+ * them. Each transaction gets a dense document id; adding an id that is already present is a
+ * no-op, so a write that races with the initial load is never indexed twice.
+ *
+ * <p>Callers run on virtual threads, so locking uses {@link ReentrantLock} rather than
+ * {@code synchronized} (which pins the carrier thread on JDK 21), and the database load runs
+ * outside the data lock: only publishing the loaded rows holds it.
+ */
+final class UserLedger {
+    private final ColumnarLedger rows;
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final Map<Class<?>, LedgerIndex> indexes = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Held for the duration of the initial load so concurrent readers wait for one query
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    UserLedger(String userId) {
+        this.rows = new ColumnarLedger(userId);
+    }
+
+    void ensureLoaded(Supplier<List<Transaction>> loader) {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<Transaction> history = loader.get();
+            lock.lock();
+            try {
+                for (Transaction transaction : history) {
+                    add(transaction);
+                }
+                loaded = true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    void add(Transaction transaction) {
+        lock.lock();
+        try {
+            if (docIds.containsKey(transaction.getId())) {
+                return;
+            }
+            int docId = rows.add(transaction);
+            docIds.put(transaction.getId(), docId);
+            for (LedgerIndex index : indexes.values()) {
+                index.add(docId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code reader} against the index of the given type, building it over the current
+     * rows first if this ledger does not have one yet.
+     */
+    <I extends LedgerIndex, R> R read(Class<I> type, Function<ColumnarLedger, I> factory, Function<I, R> reader) {
+        lock.lock();
+        try {
+            I index = type.cast(indexes.get(type));
+            if (index == null) {
+                index = factory.apply(rows);
+                for (int docId = 0; docId < rows.size(); docId++) {
+                    index.add(docId);
+                }
+                indexes.put(type, index);
+            }
+            return reader.apply(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code reader} directly against the columns.
+     */
+    <R> R readColumns(Function<ColumnarLedger, R> reader) {
+        lock.lock();
+        try {
+            return reader.apply(rows);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Transaction transaction(int docId) {
+        lock.lock();
+        try {
+            return rows.transaction(docId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Transactions for the given document ids, newest first.
+     */
+    List<Transaction> transactions(int[] docIds) {
+        List<Transaction> result = transactionsInOrder(docIds);
+        result.sort(Comparator.comparing(Transaction::getDate).reversed());
+        return result;
+    }
+
+    /**
+     * Transactions for the given document ids, in the order given.
+     */
+    List<Transaction> transactionsInOrder(int[] docIds) {
+        lock.lock();
+        try {
+            List<Transaction> result = new ArrayList<>(docIds.length);
+            for (int docId : docIds) {
+                result.add(rows.transaction(docId));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.mymoney.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe cache whose entries are tagged with the data version they were computed from.
+ * A lookup with a newer version misses and recomputes, so nothing stale is ever served and no
+ * explicit invalidation is needed.
+ */
+final class VersionedCache<V> {
+    private record Entry<V>(long version, V value) {
+    }
+
+    private final ConcurrentMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the value cached for {@code key} at {@code version}, computing it with
+     * {@code loader} on a miss. Callers must read the version before loading: a write that
+     * commits during the load then only makes the entry fresher than its tag, never older.
+     * Concurrent misses may both load; the entry with the higher version wins.
+     */
+    V get(String key, long version, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.version() == version) {
+            return entry.value();
+        }
+
+        V value = loader.get();
+        entries.merge(key, new Entry<>(version, value),
+            (existing, loaded) -> loaded.version() >= existing.version() ? loaded : existing);
+        return value;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.mymoney.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ConnectionPool} against an embedded MariaDB: borrowers past {@code maxSize} wait and
+ * time out, returned leases are reset and reused, and retired connections are closed.
+ */
+class ConnectionPoolTest {
+    private static final Duration SHORT_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration LONG = Duration.ofMinutes(10);
+
+    private ConnectionPool pool;
+
+    @BeforeAll
+    static void startDatabase() throws SQLException {
+        EmbeddedDatabase.start();
+        try (Connection connection = connect(); Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS pool_test (id INT PRIMARY KEY) ENGINE=InnoDB");
+        }
+    }
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void borrowersPastMaxSizeTimeOut() throws SQLException {
+        pool = pool(2, SHORT_TIMEOUT, LONG);
+        try (PooledConnection first = pool.borrow(); PooledConnection second = pool.borrow()) {
+            long start = System.nanoTime();
+            assertThrows(SQLTimeoutException.class, pool::borrow);
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(SHORT_TIMEOUT.toMillis()));
+
+            PoolStats stats = pool.getStats();
+            assertEquals(2, stats.activeConnections());
+            assertEquals(2, stats.totalConnections());
+            assertEquals(1, stats.borrowTimeouts());
+        }
+        assertEquals(0, pool.getStats().activeConnections());
+        assertEquals(2, pool.getStats().idleConnections());
+    }
+
+    @Test
+    void aWaitingBorrowerGetsTheReturnedConnection() throws Exception {
+        pool = pool(1, Duration.ofSeconds(5), LONG);
+        PooledConnection lease = pool.borrow();
+        Connection physical = lease.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try (PooledConnection next = pool.borrow()) {
+                return next.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(waiter.isDone());
+
+        lease.close();
+        assertSame(physical, waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, pool.getStats().createdCount());
+    }
+
+    @Test
+    void returnedLeasesAreRolledBackAndReusedMostRecentFirst() throws SQLException {
+        pool = pool(2, SHORT_TIMEOUT, LONG);
+        Connection physical;
+        try (PooledConnection lease = pool.borrow()) {
+            physical = lease.getConnection();
+            physical.setAutoCommit(false);
+            lease.createStatement().executeUpdate("INSERT INTO pool_test (id) VALUES (1)");
+        }
+
+        try (PooledConnection lease = pool.borrow();
+             ResultSet rs = lease.createStatement().executeQuery("SELECT COUNT(*) FROM pool_test")) {
+            assertSame(physical, lease.getConnection());
+            assertTrue(lease.getConnection().getAutoCommit());
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void aClosedLeaseCannotBeUsedOrReturnedTwice() throws SQLException {
+        pool = pool(1, SHORT_TIMEOUT, LONG);
+        PooledConnection lease = pool.borrow();
+        lease.close();
+        lease.close();
+        assertThrows(IllegalStateException.class, lease::getConnection);
+
+        // A second release would have handed out a second permit for the single connection
+        try (PooledConnection first = pool.borrow()) {
+            assertThrows(SQLTimeoutException.class, pool::borrow);
+        }
+    }
+
+    @Test
+    void connectionsPastTheirLifetimeAreClosedOnReturn() throws Exception {
+        pool = pool(1, SHORT_TIMEOUT, Duration.ofMillis(50));
+        Connection physical;
+        try (PooledConnection lease = pool.borrow()) {
+            physical = lease.getConnection();
+            Thread.sleep(100);
+        }
+
+        assertTrue(physical.isClosed());
+        assertEquals(1, pool.getStats().evictedCount());
+        assertEquals(0, pool.getStats().totalConnections());
+        try (PooledConnection lease = pool.borrow()) {
+            assertFalse(lease.getConnection().isClosed());
+        }
+        assertEquals(2, pool.getStats().createdCount());
+    }
+
+    private static ConnectionPool pool(int maxSize, Duration borrowTimeout, Duration maxLifetime) {
+        return new ConnectionPool(System.getProperty("mymoney.db.url"), System.getProperty("mymoney.db.user"),
+            System.getProperty("mymoney.db.password"), maxSize, 0, borrowTimeout, LONG, maxLifetime, 8);
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(System.getProperty("mymoney.db.url"),
+            System.getProperty("mymoney.db.user"), System.getProperty("mymoney.db.password"));
+    }
+}
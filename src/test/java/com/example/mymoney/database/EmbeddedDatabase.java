@@ -0,0 +1,48 @@
+package com.example.mymoney.database;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * Starts one throwaway MariaDB server per test JVM and points {@link DatabaseManager} at it.
+ * Call {@link #start()} before the first use of any service singleton; the schema is created
+ * by {@link DatabaseManager} itself, exactly as against XAMPP.
+ */
+public final class EmbeddedDatabase {
+    private static DB db;
+
+    private EmbeddedDatabase() {
+    }
+
+    public static synchronized void start() {
+        if (db != null) {
+            return;
+        }
+        try {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0);
+            if ("root".equals(System.getProperty("user.name"))) {
+                config.addArg("--user=root");
+            }
+            db = DB.newEmbeddedDB(config.build());
+            db.start();
+        } catch (ManagedProcessException e) {
+            throw new IllegalStateException("Could not start the embedded database", e);
+        }
+
+        System.setProperty("mymoney.db.url", "jdbc:mysql://localhost:" + db.getConfiguration().getPort()
+            + "/mymoney_db?createDatabaseIfNotExist=true&useSSL=false&serverTimezone=UTC"
+            + "&useServerPrepStmts=true&rewriteBatchedStatements=true");
+        System.setProperty("mymoney.db.user", "root");
+        System.setProperty("mymoney.db.password", "");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                db.stop();
+            } catch (ManagedProcessException ignored) {
+                // the JVM is exiting either way
+            }
+        }));
+    }
+}
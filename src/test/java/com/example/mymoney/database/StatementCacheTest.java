@@ -0,0 +1,120 @@
+package com.example.mymoney.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The per-connection {@link StatementCache}, through a single-connection pool against an
+ * embedded MariaDB: statements are reused across leases, evicted least recently used first,
+ * and closed when evicted.
+ */
+class StatementCacheTest {
+    private static final int CACHE_SIZE = 2;
+    private static final Duration LONG = Duration.ofMinutes(10);
+    private static final String FIRST = "SELECT ? + 1";
+    private static final String SECOND = "SELECT ? + 2";
+    private static final String THIRD = "SELECT ? + 3";
+
+    private ConnectionPool pool;
+
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabase.start();
+    }
+
+    @BeforeEach
+    void openPool() {
+        pool = new ConnectionPool(System.getProperty("mymoney.db.url"), System.getProperty("mymoney.db.user"),
+            System.getProperty("mymoney.db.password"), 1, 0, Duration.ofSeconds(1), LONG, LONG, CACHE_SIZE);
+    }
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void statementsAreReusedAcrossLeasesWithParametersCleared() throws SQLException {
+        PreparedStatement first;
+        try (PooledConnection lease = pool.borrow()) {
+            first = lease.prepareStatement(FIRST);
+            first.setInt(1, 41);
+            assertEquals(42, single(first));
+            first.setInt(1, 1);
+        }
+
+        try (PooledConnection lease = pool.borrow()) {
+            PreparedStatement again = lease.prepareStatement(FIRST);
+            assertSame(first, again);
+            // The parameter set by the previous borrower is gone
+            assertThrows(SQLException.class, again::executeQuery);
+        }
+
+        PoolStats stats = pool.getStats();
+        assertEquals(1, stats.statementCacheHits());
+        assertEquals(1, stats.statementCacheMisses());
+        assertEquals(0, stats.statementCacheEvictions());
+    }
+
+    @Test
+    void theLeastRecentlyUsedStatementIsEvictedAndClosed() throws SQLException {
+        try (PooledConnection lease = pool.borrow()) {
+            PreparedStatement first = lease.prepareStatement(FIRST);
+            PreparedStatement second = lease.prepareStatement(SECOND);
+            // Touch the first again, so the second is now the least recently used
+            assertSame(first, lease.prepareStatement(FIRST));
+
+            PreparedStatement third = lease.prepareStatement(THIRD);
+            assertTrue(second.isClosed());
+            assertFalse(first.isClosed());
+            assertFalse(third.isClosed());
+            assertEquals(1, pool.getStats().statementCacheEvictions());
+
+            // Coming back to the evicted SQL prepares a fresh statement and evicts the first
+            PreparedStatement secondAgain = lease.prepareStatement(SECOND);
+            assertNotSame(second, secondAgain);
+            assertTrue(first.isClosed());
+            secondAgain.setInt(1, 5);
+            assertEquals(7, single(secondAgain));
+        }
+
+        PoolStats stats = pool.getStats();
+        assertEquals(1, stats.statementCacheHits());
+        assertEquals(4, stats.statementCacheMisses());
+        assertEquals(2, stats.statementCacheEvictions());
+    }
+
+    @Test
+    void aStatementClosedByTheCallerIsPreparedAgain() throws SQLException {
+        try (PooledConnection lease = pool.borrow()) {
+            PreparedStatement first = lease.prepareStatement(FIRST);
+            first.close();
+            PreparedStatement replacement = lease.prepareStatement(FIRST);
+            assertNotSame(first, replacement);
+            replacement.setInt(1, 1);
+            assertEquals(2, single(replacement));
+        }
+        assertEquals(2, pool.getStats().statementCacheMisses());
+    }
+
+    private static int single(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+}
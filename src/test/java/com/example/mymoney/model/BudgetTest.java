@@ -0,0 +1,41 @@
+package com.example.mymoney.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BudgetTest {
+
+    @Test
+    void startsWithTheDefaultCategoryBudgets() {
+        Budget budget = new Budget("budget-test");
+        assertEquals(600.0, budget.getCategoryBudget("Groceries"));
+        assertEquals(6, budget.getCategoryBudgets().size());
+        assertEquals(0.0, budget.getCategoryBudget("Never Budgeted"));
+    }
+
+    @Test
+    void rejectsNullAndBlankCategories() {
+        Budget budget = new Budget("budget-test");
+        Map<String, Double> before = budget.getCategoryBudgets();
+
+        assertThrows(IllegalArgumentException.class, () -> budget.setCategoryBudget(null, 100.0));
+        assertThrows(IllegalArgumentException.class, () -> budget.setCategoryBudget("", 100.0));
+        assertThrows(IllegalArgumentException.class, () -> budget.setCategoryBudget("   ", 100.0));
+
+        assertEquals(before, budget.getCategoryBudgets());
+        assertEquals(0.0, budget.getCategoryBudget((String) null));
+    }
+
+    @Test
+    void setReplacesAnExistingBudget() {
+        Budget budget = new Budget("budget-test");
+        budget.setCategoryBudget("Groceries", 450.0);
+        budget.setCategoryBudget("Pets", 80.0);
+        assertEquals(450.0, budget.getCategoryBudget("Groceries"));
+        assertEquals(80.0, budget.getCategoryBudget(CategoryDictionary.getInstance().find("Pets")));
+    }
+}
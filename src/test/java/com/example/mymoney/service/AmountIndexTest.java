@@ -0,0 +1,160 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link AmountIndex} against a plain list sorted by (amount, document id).
+ */
+class AmountIndexTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void rangesMatchTheSortedList() {
+        ColumnarLedger rows = ledger(2_000, 1L);
+        AmountIndex index = index(rows);
+        List<Integer> sorted = sortedByAmount(rows);
+
+        Random random = new Random(2L);
+        for (int i = 0; i < 200; i++) {
+            long a = random.nextInt(11_000) - 500;
+            long b = random.nextInt(11_000) - 500;
+            long min = Math.min(a, b);
+            long max = Math.max(a, b);
+            int[] expected = sorted.stream()
+                .filter(doc -> rows.amountCents(doc) >= min && rows.amountCents(doc) <= max)
+                .mapToInt(Integer::intValue).toArray();
+            assertArrayEquals(expected, index.between(min, max), min + ".." + max);
+            assertEquals(expected.length, index.count(min, max));
+        }
+        assertEquals(0, index.count(500, 100));
+    }
+
+    @Test
+    void nearestTakesTheClosestAmountsSmallerFirstOnTies() {
+        ColumnarLedger rows = ledger(1_000, 3L);
+        AmountIndex index = index(rows);
+
+        for (long target : new long[] {-100, 0, 75, 2_525, 5_000, 9_999, 20_000}) {
+            for (int k : new int[] {0, 1, 7, 50, rows.size(), rows.size() + 5}) {
+                long[] expected = sortedByAmount(rows).stream()
+                    .sorted(Comparator.comparingLong((Integer doc) -> Math.abs(rows.amountCents(doc) - target))
+                        .thenComparingLong(rows::amountCents))
+                    .limit(k)
+                    .mapToLong(rows::amountCents).toArray();
+                int[] nearest = index.nearest(target, k);
+                assertArrayEquals(expected, Arrays.stream(nearest).mapToLong(rows::amountCents).toArray(),
+                    "target " + target + ", k " + k);
+                assertEquals(nearest.length, Arrays.stream(nearest).distinct().count());
+            }
+        }
+    }
+
+    @Test
+    void nearestWithNegativeCountIsEmpty() {
+        AmountIndex index = index(ledger(10, 4L));
+        assertEquals(0, index.nearest(100, -1).length);
+    }
+
+    @Test
+    void duplicatesMatchABruteForceGrouping() {
+        ColumnarLedger rows = ledger(3_000, 5L);
+        AmountIndex index = index(rows);
+
+        for (int window : new int[] {0, 1, 3, 30}) {
+            List<int[]> expected = new ArrayList<>();
+            List<Integer> expenses = sortedByAmount(rows).stream()
+                .filter(doc -> rows.type(doc) == Transaction.TransactionType.EXPENSE).toList();
+            int start = 0;
+            while (start < expenses.size()) {
+                int end = start;
+                while (end < expenses.size() && rows.amountCents(expenses.get(end)) == rows.amountCents(expenses.get(start))) {
+                    end++;
+                }
+                List<Integer> run = new ArrayList<>(expenses.subList(start, end));
+                run.sort(Comparator.comparingInt(rows::epochDay).thenComparingInt(Integer::intValue));
+                int groupStart = 0;
+                for (int i = 1; i <= run.size(); i++) {
+                    if (i == run.size() || rows.epochDay(run.get(i)) - rows.epochDay(run.get(i - 1)) > window) {
+                        if (i - groupStart > 1) {
+                            expected.add(run.subList(groupStart, i).stream().mapToInt(Integer::intValue).toArray());
+                        }
+                        groupStart = i;
+                    }
+                }
+                start = end;
+            }
+
+            List<int[]> groups = index.duplicateExpenses(window);
+            assertEquals(expected.size(), groups.size(), "window " + window);
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), groups.get(i), "window " + window + ", group " + i);
+            }
+        }
+    }
+
+    @Test
+    void rowsAddedAfterAQueryAreMergedIn() {
+        ColumnarLedger rows = ledger(500, 6L);
+        AmountIndex index = index(rows);
+        index.count(0, Long.MAX_VALUE);
+
+        Random random = new Random(7L);
+        for (int i = 0; i < 300; i++) {
+            index.add(rows.add(transaction(random, i)));
+            if (i % 50 == 0) {
+                index.count(0, Long.MAX_VALUE);
+            }
+        }
+
+        int[] expected = sortedByAmount(rows).stream().mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(expected, index.between(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Amounts on a coarse grid, so equal amounts and ties are common.
+     */
+    private static ColumnarLedger ledger(int size, long seed) {
+        Random random = new Random(seed);
+        ColumnarLedger rows = new ColumnarLedger("amount-index-test");
+        for (int i = 0; i < size; i++) {
+            rows.add(transaction(random, i));
+        }
+        return rows;
+    }
+
+    private static Transaction transaction(Random random, int i) {
+        boolean income = random.nextInt(8) == 0;
+        return new Transaction("amount-index-test",
+            income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+            (1 + random.nextInt(200)) * 0.5, income ? "Salary" : "Food", null,
+            START.plusDays(random.nextInt(120)));
+    }
+
+    private static AmountIndex index(ColumnarLedger rows) {
+        AmountIndex index = new AmountIndex(rows);
+        for (int docId = 0; docId < rows.size(); docId++) {
+            index.add(docId);
+        }
+        return index;
+    }
+
+    private static List<Integer> sortedByAmount(ColumnarLedger rows) {
+        List<Integer> docs = new ArrayList<>();
+        for (int docId = 0; docId < rows.size(); docId++) {
+            docs.add(docId);
+        }
+        docs.sort(Comparator.comparingLong(rows::amountCents).thenComparingInt(Integer::intValue));
+        return docs;
+    }
+}
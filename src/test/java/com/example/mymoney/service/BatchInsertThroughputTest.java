@@ -0,0 +1,81 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.EmbeddedDatabase;
+import com.example.mymoney.model.BatchInsertResult;
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ingest throughput of {@link DataService#addTransactions} against an embedded MariaDB.
+ *
+ * <p>Measured on the development container (embedded MariaDB 11.4.5, default InnoDB settings,
+ * 1000-row chunks): about 12,000 rows/s for the bulk path against 2,400-3,000 rows/s for one
+ * {@link DataService#addTransaction} call per row, roughly 4-5x. The assertion only requires a
+ * 3x margin so slower machines still pass; the measured figures are printed on every run.
+ */
+class BatchInsertThroughputTest {
+    private static final int BULK_ROWS = 50_000;
+    private static final int SINGLE_ROWS = 1_000;
+    private static final double MIN_SPEEDUP = 3.0;
+
+    private static DataService dataService;
+
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabase.start();
+        dataService = DataService.getInstance();
+    }
+
+    @Test
+    void bulkInsertOutrunsRowByRowInserts() {
+        List<Transaction> bulkRows = history(TestUsers.create("throughput-bulk"), BULK_ROWS);
+        List<Transaction> singleRows = history(TestUsers.create("throughput-single"), SINGLE_ROWS);
+
+        BatchInsertResult bulk = dataService.addTransactions(bulkRows);
+
+        long start = System.nanoTime();
+        for (Transaction transaction : singleRows) {
+            dataService.addTransaction(transaction);
+        }
+        double singleRowsPerSecond = SINGLE_ROWS / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+        System.out.printf("Bulk insert: %d rows in %.0f ms, %.0f rows/s; row-by-row: %.0f rows/s%n",
+            bulk.getInsertedRows(), bulk.getElapsedNanos() / 1_000_000.0, bulk.getRowsPerSecond(), singleRowsPerSecond);
+
+        assertTrue(bulk.isSuccessful(), bulk.toString());
+        assertEquals(BULK_ROWS, bulk.getInsertedRows());
+        assertTrue(bulk.getRowsPerSecond() >= MIN_SPEEDUP * singleRowsPerSecond,
+            "bulk " + bulk.getRowsPerSecond() + " rows/s vs row-by-row " + singleRowsPerSecond + " rows/s");
+    }
+
+    @Test
+    void failedChunkRollsBackOnlyItself() {
+        String userId = TestUsers.create("throughput-failure");
+        List<Transaction> rows = new ArrayList<>(history(userId, 30));
+        // Too long for the VARCHAR(50) category column, so the second chunk of ten fails
+        rows.set(15, new Transaction(userId, Transaction.TransactionType.EXPENSE, 10.0, "x".repeat(60), null,
+            rows.get(15).getDate()));
+
+        BatchInsertResult result = dataService.addTransactions(rows, 10);
+
+        assertEquals(20, result.getInsertedRows());
+        assertEquals(1, result.getFailures().size());
+        BatchInsertResult.ChunkFailure failure = result.getFailures().get(0);
+        assertEquals(1, failure.chunkIndex());
+        assertEquals(10, failure.firstRow());
+        assertEquals(10, failure.rowCount());
+        assertEquals(20, dataService.getTransactionsForUser(userId).size());
+    }
+
+    private static List<Transaction> history(String userId, int rows) {
+        return TestHistory.generate(userId, LocalDate.of(2015, 1, 1), rows, 42L);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.mymoney.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BudgetOptimizerTest {
+
+    @Test
+    void matchesBruteForceAndTheOldTableOnWholePesoCosts() {
+        Random random = new Random(61L);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(12);
+            double[] costs = new double[n];
+            double[] priorities = new double[n];
+            for (int i = 0; i < n; i++) {
+                costs[i] = 1 + random.nextInt(400);
+                priorities[i] = 0.5 + random.nextInt(8) * 0.25;
+            }
+            double budget = random.nextInt(1_500);
+
+            double best = bruteForce(costs, priorities, budget);
+            boolean[] chosen = new BudgetOptimizer().optimize(costs, priorities, budget);
+            assertTrue(spent(chosen, costs) <= budget);
+            assertEquals(best, value(chosen, costs, priorities), 1e-9, "round " + round);
+            assertEquals(best, legacyTable(costs, priorities, budget), 1e-9, "round " + round);
+        }
+    }
+
+    @Test
+    void backtracksToTheSetTheTableChose() {
+        // Greedy funds the highest priority first and is left with 4; the table takes both fives
+        double[] costs = {6, 5, 5};
+        double[] priorities = {1.2, 1.0, 1.0};
+        assertArrayEquals(new boolean[] {false, true, true}, new BudgetOptimizer().optimize(costs, priorities, 10));
+
+        assertArrayEquals(new boolean[] {true, false, true},
+            new BudgetOptimizer().optimize(new double[] {3, 4, 5}, new double[] {1, 1, 1}, 8));
+    }
+
+    @Test
+    void neverOverspendsWithFractionalCostsOrCoarseUnits() {
+        Random random = new Random(62L);
+        long[] limits = {1_024, 64 * 1_024, BudgetOptimizer.DEFAULT_MEMORY_LIMIT_BYTES};
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(30);
+            double[] costs = new double[n];
+            double[] priorities = new double[n];
+            for (int i = 0; i < n; i++) {
+                costs[i] = (1 + random.nextInt(5_000_000)) / 100.0;
+                priorities[i] = 0.5 + random.nextDouble() * 2;
+            }
+            double budget = random.nextInt(20_000_000) / 100.0;
+            double granularity = random.nextBoolean() ? 0.01 : 1.0;
+            for (long limit : limits) {
+                boolean[] chosen = new BudgetOptimizer(granularity, limit).optimize(costs, priorities, budget);
+                assertTrue(spent(chosen, costs) <= budget + 1e-9, "round " + round + ", limit " + limit);
+            }
+        }
+        assertArrayEquals(new boolean[2], new BudgetOptimizer().optimize(new double[] {5, 6}, new double[] {1, 1}, -1));
+        assertArrayEquals(new boolean[0], new BudgetOptimizer().optimize(new double[0], new double[0], 100));
+    }
+
+    @Test
+    void coarseUnitsLoseAtMostOneUnitPerCategory() {
+        // 1 KiB fits about a hundred cells, so a budget of 9,000 is planned in units of about 90
+        BudgetOptimizer optimizer = new BudgetOptimizer(1.0, 1_024);
+        Random random = new Random(63L);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(10);
+            double[] costs = new double[n];
+            double[] priorities = new double[n];
+            for (int i = 0; i < n; i++) {
+                costs[i] = 1 + random.nextInt(6_000);
+                priorities[i] = 0.5 + random.nextInt(6) * 0.25;
+            }
+            double unit = optimizer.unitFor(n, 9_000);
+            assertTrue(unit > 1.0);
+
+            // Any set whose costs still fit after rounding each one up by a unit is within reach
+            double reachable = Math.floor(9_000 / unit) * unit - n * unit;
+            boolean[] chosen = optimizer.optimize(costs, priorities, 9_000);
+            assertTrue(spent(chosen, costs) <= 9_000);
+            assertTrue(value(chosen, costs, priorities) >= bruteForce(costs, priorities, reachable) - 1e-9, "round " + round);
+        }
+    }
+
+    @Test
+    void millionPesoBudgetAtCentGranularityStaysWithinTheMemoryLimit() {
+        BudgetOptimizer optimizer = new BudgetOptimizer(0.01, BudgetOptimizer.DEFAULT_MEMORY_LIMIT_BYTES);
+        for (int n : new int[] {1, 8, 40, 200}) {
+            double unit = optimizer.unitFor(n, 1_000_000);
+            assertTrue(unit > 0.01, n + " categories");
+            long bytes = BudgetOptimizer.tableBytes(n, 1_000_000, unit);
+            assertTrue(bytes <= BudgetOptimizer.DEFAULT_MEMORY_LIMIT_BYTES, n + " categories need " + bytes + " bytes");
+        }
+        assertEquals(0.01, optimizer.unitFor(5, 1_000));
+
+        Random random = new Random(64L);
+        int n = 40;
+        double[] costs = new double[n];
+        double[] priorities = new double[n];
+        for (int i = 0; i < n; i++) {
+            costs[i] = (1 + random.nextInt(20_000_000)) / 100.0;
+            priorities[i] = 0.5 + random.nextDouble();
+        }
+        boolean[] chosen = optimizer.optimize(costs, priorities, 1_000_000);
+        assertTrue(spent(chosen, costs) <= 1_000_000);
+        assertTrue(value(chosen, costs, priorities) > 0);
+    }
+
+    private static double bruteForce(double[] costs, double[] priorities, double budget) {
+        double best = 0;
+        for (int mask = 0; mask < 1 << costs.length; mask++) {
+            double cost = 0;
+            double value = 0;
+            for (int i = 0; i < costs.length; i++) {
+                if ((mask & 1 << i) != 0) {
+                    cost += costs[i];
+                    value += costs[i] * priorities[i];
+                }
+            }
+            if (cost <= budget) {
+                best = Math.max(best, value);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The value found by the full (n + 1) x (budget + 1) table BudgetService used before
+     * {@link BudgetOptimizer}.
+     */
+    private static double legacyTable(double[] historical, double[] priorities, double totalBudget) {
+        int n = historical.length;
+        double[][] dp = new double[n + 1][(int) totalBudget + 1];
+        for (int i = 1; i <= n; i++) {
+            for (int budget = 0; budget <= totalBudget; budget++) {
+                dp[i][budget] = dp[i - 1][budget];
+                int historicalAmount = (int) historical[i - 1];
+                if (budget >= historicalAmount) {
+                    double value = historicalAmount * priorities[i - 1];
+                    dp[i][budget] = Math.max(dp[i][budget], dp[i - 1][budget - historicalAmount] + value);
+                }
+            }
+        }
+        return dp[n][(int) totalBudget];
+    }
+
+    private static double spent(boolean[] chosen, double[] costs) {
+        double total = 0;
+        for (int i = 0; i < chosen.length; i++) {
+            if (chosen[i]) {
+                total += costs[i];
+            }
+        }
+        return total;
+    }
+
+    private static double value(boolean[] chosen, double[] costs, double[] priorities) {
+        double total = 0;
+        for (int i = 0; i < chosen.length; i++) {
+            if (chosen[i]) {
+                total += costs[i] * priorities[i];
+            }
+        }
+        return total;
+    }
+}
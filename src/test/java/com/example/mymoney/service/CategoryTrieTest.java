@@ -0,0 +1,99 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CategoryTrieTest {
+    private static final Transaction.TransactionType EXPENSE = Transaction.TransactionType.EXPENSE;
+    private static final Transaction.TransactionType INCOME = Transaction.TransactionType.INCOME;
+
+    private final ColumnarLedger rows = new ColumnarLedger("trie-test");
+    private final CategoryTrie trie = new CategoryTrie(rows);
+
+    @Test
+    void mostUsedFirstWithTiesInAlphabeticalOrder() {
+        add(EXPENSE, "Shopping", "shoes", "Snacks", "Shoes", "Sports", "snacks", "Savings");
+
+        assertEquals(List.of("shoes", "Snacks", "Savings", "Shopping", "Sports"), trie.complete("s", null, 10));
+        assertEquals(List.of("shoes", "Shopping"), trie.complete("sho", null, 10));
+        assertEquals(List.of("shoes", "Snacks"), trie.complete("S", null, 2));
+        assertEquals(List.of(), trie.complete("x", null, 10));
+        assertEquals(List.of(), trie.complete("s", null, 0));
+    }
+
+    @Test
+    void spellingsMergeCaseInsensitivelyAndTheFirstOneWins() {
+        add(EXPENSE, "groceries", "GROCERIES", "Groceries", "Gas");
+
+        assertEquals(List.of("groceries", "Gas"), trie.complete("G", null, 10));
+        assertEquals(List.of("groceries"), trie.complete("GRO", EXPENSE, 10));
+    }
+
+    @Test
+    void eachTypeHasItsOwnTrie() {
+        add(INCOME, "Salary", "Salary", "Side Gig");
+        add(EXPENSE, "Shopping", "Shopping", "Shopping");
+
+        assertEquals(List.of("Salary", "Side Gig"), trie.complete("s", INCOME, 10));
+        assertEquals(List.of("Shopping"), trie.complete("s", EXPENSE, 10));
+        assertEquals(List.of("Shopping", "Salary", "Side Gig"), trie.complete("s", null, 10));
+    }
+
+    @Test
+    void cachedTopResultsMatchAFullRanking() {
+        Random random = new Random(51L);
+        String[] stems = {"food", "fuel", "fun", "fees", "family", "fitness", "films", "flowers", "fruit", "fish",
+            "furniture", "fares", "fx", "fabric", "florist"};
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            String stem = stems[Math.min(random.nextInt(stems.length), random.nextInt(stems.length))];
+            String category = random.nextInt(4) == 0 ? stem + " " + random.nextInt(30) : stem;
+            String spelling = random.nextBoolean() ? category.toUpperCase(Locale.ROOT) : category;
+            add(EXPENSE, spelling);
+            counts.merge(category, 1, Integer::sum);
+
+            if (i % 250 == 0) {
+                for (String prefix : new String[] {"", "f", "fu", "fi", "food", "fuel 1"}) {
+                    List<String> expected = ranking(counts, prefix);
+                    for (int k : new int[] {1, 3, CategoryTrie.TOP_K}) {
+                        List<String> completions = trie.complete(prefix, EXPENSE, k).stream()
+                            .map(c -> c.toLowerCase(Locale.ROOT)).toList();
+                        assertEquals(expected.subList(0, Math.min(k, expected.size())), completions, prefix + " top " + k);
+                    }
+                    List<String> all = trie.complete(prefix, EXPENSE, Integer.MAX_VALUE).stream()
+                        .map(c -> c.toLowerCase(Locale.ROOT)).toList();
+                    assertEquals(expected, all, prefix);
+                }
+            }
+        }
+    }
+
+    private static List<String> ranking(Map<String, Integer> counts, String prefix) {
+        List<String> matching = new ArrayList<>();
+        for (String category : counts.keySet()) {
+            if (category.startsWith(prefix)) {
+                matching.add(category);
+            }
+        }
+        matching.sort(Comparator.comparingInt((String c) -> counts.get(c)).reversed()
+            .thenComparing(String.CASE_INSENSITIVE_ORDER));
+        return matching;
+    }
+
+    private void add(Transaction.TransactionType type, String... categories) {
+        for (String category : categories) {
+            trie.add(rows.add(new Transaction("trie-test", type, 1.0, category, null, LocalDate.of(2024, 1, 1))));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link CoOccurrenceIndex} against pair counts taken over every pair of rows.
+ */
+class CoOccurrenceIndexTest {
+    private static final String[] CATEGORIES = {"Food", "Rent", "Fuel", "Books", "Gifts", "Pets", "Travel"};
+
+    @Test
+    void weightsAndComponentsMatchAllPairs() {
+        Random random = new Random(11L);
+        ColumnarLedger rows = new ColumnarLedger("co-occurrence-test");
+        CoOccurrenceIndex index = new CoOccurrenceIndex(rows);
+        LocalDate middle = LocalDate.of(2022, 6, 1);
+        for (int i = 0; i < 1_500; i++) {
+            // Dates arrive out of order and spread both ways, so the day array grows at each end
+            int category = Math.min(random.nextInt(CATEGORIES.length), random.nextInt(CATEGORIES.length));
+            LocalDate date = middle.plusDays(random.nextInt(1_200) - 600);
+            String name = category == CATEGORIES.length - 1 && random.nextBoolean() ? null : CATEGORIES[category];
+            index.add(rows.add(new Transaction("co-occurrence-test", Transaction.TransactionType.EXPENSE,
+                1.0, name, null, date)));
+        }
+
+        int categories = rows.categoryCount();
+        long[][] expected = new long[categories][categories];
+        boolean[] paired = new boolean[categories];
+        for (int a = 0; a < rows.size(); a++) {
+            for (int b = a + 1; b < rows.size(); b++) {
+                int ca = rows.categoryId(a);
+                int cb = rows.categoryId(b);
+                if (ca < 0 || cb < 0 || rows.epochDay(a) != rows.epochDay(b)) {
+                    continue;
+                }
+                expected[ca][cb]++;
+                if (ca != cb) {
+                    expected[cb][ca]++;
+                }
+                paired[ca] = true;
+                paired[cb] = true;
+            }
+        }
+
+        int[] component = new int[categories];
+        for (int c = 0; c < categories; c++) {
+            component[c] = c;
+        }
+        for (int pass = 0; pass < categories; pass++) {
+            for (int a = 0; a < categories; a++) {
+                for (int b = 0; b < categories; b++) {
+                    if (a != b && expected[a][b] > 0) {
+                        component[a] = component[b] = Math.min(component[a], component[b]);
+                    }
+                }
+            }
+        }
+
+        for (int a = 0; a < categories; a++) {
+            assertEquals(paired[a], index.isPaired(a), rows.categoryName(a));
+            int size = 0;
+            for (int b = 0; b < categories; b++) {
+                assertEquals(expected[a][b], index.weight(a, b), rows.categoryName(a) + "/" + rows.categoryName(b));
+                if (component[b] == component[a]) {
+                    size++;
+                }
+            }
+            assertEquals(size, index.componentSize(a), rows.categoryName(a));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.CategoryDictionary;
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link ColumnarLedger} against the {@link Transaction}s it was filled from.
+ */
+class ColumnarLedgerTest {
+    private static final String USER = "columnar-ledger-test";
+    private static final String[] CATEGORIES = {"Food", "Rent", "Transport", "Salary", "Gifts", null};
+
+    @Test
+    void rowsReadBackAsTheyWereAddedAcrossGrowth() {
+        // Well past the initial capacity of 64, so every column is grown several times
+        List<Transaction> source = transactions(1_000, 1L);
+        ColumnarLedger rows = new ColumnarLedger(USER);
+        for (int i = 0; i < source.size(); i++) {
+            assertEquals(i, rows.add(source.get(i)));
+        }
+
+        assertEquals(source.size(), rows.size());
+        for (int doc = 0; doc < source.size(); doc++) {
+            Transaction expected = source.get(doc);
+            Transaction actual = rows.transaction(doc);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(USER, actual.getUserId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getAmount(), actual.getAmount(), 1e-9);
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getNotes(), actual.getNotes());
+            assertEquals(expected.getDate(), actual.getDate());
+            assertEquals(expected.getDate().toEpochDay(), rows.epochDay(doc));
+            assertEquals(ColumnarLedger.toCents(expected.getAmount()), rows.amountCents(doc));
+        }
+    }
+
+    @Test
+    void categoryIdsAreDenseAndLocalToTheUser() {
+        // Categories another user registered first must not widen this user's arrays
+        for (int i = 0; i < 50; i++) {
+            CategoryDictionary.getInstance().idOf("columnar-ledger-other-" + i);
+        }
+        ColumnarLedger rows = new ColumnarLedger(USER);
+        for (Transaction transaction : transactions(200, 2L)) {
+            rows.add(transaction);
+        }
+
+        assertEquals(CATEGORIES.length - 1, rows.categoryCount());
+        for (int doc = 0; doc < rows.size(); doc++) {
+            int id = rows.categoryId(doc);
+            if (rows.category(doc) == null) {
+                assertEquals(CategoryDictionary.NO_CATEGORY, id);
+            } else {
+                assertEquals(rows.category(doc), rows.categoryName(id));
+            }
+        }
+        assertNull(rows.categoryName(CategoryDictionary.NO_CATEGORY));
+    }
+
+    @Test
+    void categoryTotalsMatchASumOverTheTransactions() {
+        List<Transaction> source = transactions(3_000, 3L);
+        ColumnarLedger rows = new ColumnarLedger(USER);
+        source.forEach(rows::add);
+
+        for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+            Map<String, Long> expected = new HashMap<>();
+            for (Transaction transaction : source) {
+                if (transaction.getType() == type && transaction.getCategory() != null) {
+                    expected.merge(transaction.getCategory(), ColumnarLedger.toCents(transaction.getAmount()), Long::sum);
+                }
+            }
+
+            long[] totals = rows.categoryTotals(type);
+            assertEquals(rows.categoryCount(), totals.length);
+            Map<String, Long> actual = new HashMap<>();
+            for (int id = 0; id < totals.length; id++) {
+                if (totals[id] != 0) {
+                    actual.put(rows.categoryName(id), totals[id]);
+                }
+            }
+            assertEquals(expected, actual, type.name());
+        }
+    }
+
+    @Test
+    void centsRoundToTheNearestCent() {
+        assertEquals(1_999, ColumnarLedger.toCents(19.99));
+        assertEquals(10, ColumnarLedger.toCents(0.1));
+        assertEquals(1, ColumnarLedger.toCents(0.005));
+        assertEquals(-250, ColumnarLedger.toCents(-2.5));
+    }
+
+    private static List<Transaction> transactions(int size, long seed) {
+        Random random = new Random(seed);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        List<Transaction> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Transaction.TransactionType type = random.nextInt(5) == 0
+                ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE;
+            result.add(new Transaction(USER, type, random.nextInt(100_000) / 100.0,
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                random.nextBoolean() ? "note " + i : null, start.plusDays(random.nextInt(730))));
+        }
+        return result;
+    }
+}
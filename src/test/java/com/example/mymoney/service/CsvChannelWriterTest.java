@@ -0,0 +1,70 @@
+package com.example.mymoney.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The bytes {@link CsvChannelWriter} produces, including fields that straddle its buffer.
+ */
+class CsvChannelWriterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void formatsAmountsDatesAndQuotesOnlyWhenNeeded() throws IOException {
+        Path file = directory.resolve("fields.csv");
+        try (CsvChannelWriter writer = new CsvChannelWriter(file)) {
+            writer.centsField(0).centsField(5).centsField(1_999).centsField(-250).centsField(9_999_999_999L);
+            writer.endRow();
+            writer.dateField(LocalDate.of(2024, 2, 9)).dateField(LocalDate.of(987, 12, 31));
+            writer.endRow();
+            writer.field("plain").field("a,b").field("say \"hi\"").field("two\nlines").field(null).field("");
+            writer.endRow();
+            writer.quotedField("plain").quotedField(null).quotedField("₱ café");
+            writer.endRow();
+        }
+
+        assertEquals("""
+            0.00,0.05,19.99,-2.50,99999999.99
+            2024-02-09,0987-12-31
+            plain,"a,b","say ""hi\"\"","two
+            lines",,
+            "plain","","₱ café"
+            """, Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fieldsLongerThanTheBufferAreWrittenWhole() throws IOException {
+        // Both longer than the 64 KiB buffer, one ASCII and one multi-byte
+        String ascii = "abcdefghij".repeat(10_000);
+        String accented = "é".repeat(50_000);
+        Path file = directory.resolve("long.csv");
+        try (CsvChannelWriter writer = new CsvChannelWriter(file)) {
+            writer.field("x").quotedField(ascii);
+            writer.endRow();
+            writer.centsField(123).quotedField(accented);
+            writer.endRow();
+        }
+
+        assertEquals("x,\"" + ascii + "\"\n1.23,\"" + accented + "\"\n", Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rewritingAFileTruncatesIt() throws IOException {
+        Path file = directory.resolve("truncate.csv");
+        Files.writeString(file, "a much longer previous content\n".repeat(10));
+        try (CsvChannelWriter writer = new CsvChannelWriter(file)) {
+            writer.field("short");
+            writer.endRow();
+        }
+        assertEquals("short\n", Files.readString(file));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.EmbeddedDatabase;
+import com.example.mymoney.model.ImportResult;
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Files written with {@link CsvChannelWriter}, by {@link DataService#exportToCSV} and by
+ * {@link SyntheticLedgerGenerator#writeCsv}, read back by {@link CsvTransactionImporter}
+ * against an embedded MariaDB.
+ */
+class CsvRoundTripTest {
+    private static final LocalDate START = LocalDate.of(2022, 1, 1);
+
+    private static DataService dataService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabase.start();
+        dataService = DataService.getInstance();
+    }
+
+    @Test
+    void exportedHistoryImportsBackUnchanged() throws IOException {
+        String source = TestUsers.create("csv-round-trip-source");
+        String target = TestUsers.create("csv-round-trip-target");
+
+        List<Transaction> history = new ArrayList<>(TestHistory.generate(source, START, 1_500, 41L));
+        String[] awkwardNotes = {
+            "comma, inside", "say \"hi\"", "two\nlines", "crlf\r\nlines", "1,250 at café, señor", "\"", ",",
+            "é".repeat(20_000), "x".repeat(60_000)
+        };
+        for (int i = 0; i < awkwardNotes.length; i++) {
+            history.add(new Transaction(source, Transaction.TransactionType.EXPENSE, 0.01 + i, "Food",
+                awkwardNotes[i], START.plusDays(i)));
+        }
+        history.add(new Transaction(source, Transaction.TransactionType.INCOME, 99_999_999.99, "Salary", null, START));
+        assertTrue(dataService.addTransactions(history).isSuccessful());
+
+        Path file = directory.resolve("export.csv");
+        dataService.exportToCSV(source, file.toString());
+        ImportResult result = new CsvTransactionImporter(dataService, 200, 2).importFile(target, file, null);
+
+        assertTrue(result.isSuccessful(), result.getErrors().toString());
+        assertEquals(history.size(), result.getProgress().rowsImported());
+        assertEquals(keys(dataService.getTransactionsForUser(source)), keys(dataService.getTransactionsForUser(target)));
+    }
+
+    @Test
+    void anEmptyHistoryExportsJustTheHeader() throws IOException {
+        String userId = TestUsers.create("csv-round-trip-empty");
+        Path file = directory.resolve("empty.csv");
+        dataService.exportToCSV(userId, file.toString());
+
+        assertEquals("Date,Type,Category,Amount,Notes\n", Files.readString(file));
+        ImportResult result = new CsvTransactionImporter(dataService).importFile(userId, file, null);
+        assertTrue(result.isSuccessful());
+        assertEquals(0, result.getProgress().rowsRead());
+    }
+
+    @Test
+    void generatedFilesImportAsTheGeneratedRows() throws IOException {
+        String userId = TestUsers.create("csv-round-trip-generated");
+        SyntheticLedgerGenerator generator = new SyntheticLedgerGenerator(43L);
+        Path file = directory.resolve("generated.csv");
+        long rows = generator.writeCsv(userId, START, 1, file);
+
+        ImportResult result = new CsvTransactionImporter(dataService).importFile(userId, file, null);
+
+        assertTrue(result.isSuccessful(), result.getErrors().toString());
+        assertEquals(rows, result.getProgress().rowsImported());
+        assertEquals(keys(generator.generate(userId, START, 1)), keys(dataService.getTransactionsForUser(userId)));
+    }
+
+    /**
+     * Everything the CSV format carries, sorted; ids and owners are not part of the file.
+     */
+    private static List<String> keys(List<Transaction> transactions) {
+        List<String> keys = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            keys.add(transaction.getDate() + "|" + transaction.getType() + "|" + transaction.getCategory() + "|"
+                + ColumnarLedger.toCents(transaction.getAmount()) + "|" + transaction.getNotes());
+        }
+        keys.sort(null);
+        return keys;
+    }
+}
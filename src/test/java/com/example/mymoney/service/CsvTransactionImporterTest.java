@@ -0,0 +1,207 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.DatabaseManager;
+import com.example.mymoney.database.EmbeddedDatabase;
+import com.example.mymoney.database.PooledConnection;
+import com.example.mymoney.model.ImportProgress;
+import com.example.mymoney.model.ImportResult;
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link CsvTransactionImporter} end to end against an embedded MariaDB: the chunked pipeline
+ * with small queues, quoting, byte order marks, rejected rows and a chunk the database refuses.
+ */
+class CsvTransactionImporterTest {
+    private static final String HEADER = "Date,Type,Category,Amount,Notes";
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+
+    private static DataService dataService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabase.start();
+        dataService = DataService.getInstance();
+    }
+
+    @Test
+    void importsEveryRowThroughSmallChunksAndQueues() throws IOException {
+        String userId = TestUsers.create("csv-import-pipeline");
+        List<Transaction> source = TestHistory.generate(userId, START, 2_500, 31L);
+        List<String> notes = new ArrayList<>();
+        for (int i = 0; i < source.size(); i++) {
+            String note = source.get(i).getNotes();
+            // Commas, doubled quotes and line breaks inside quoted fields
+            if (i % 7 == 0) {
+                note = (note == null ? "" : note) + ", said \"hi\"\nsecond line";
+            }
+            notes.add(note);
+        }
+        Path file = write("pipeline.csv", source, notes, "\r\n", false);
+
+        List<ImportProgress> updates = new ArrayList<>();
+        ImportResult result = new CsvTransactionImporter(dataService, 100, 2)
+            .importFile(userId, file, updates::add);
+
+        assertTrue(result.isSuccessful(), result.getErrors().toString());
+        assertEquals(source.size(), result.getProgress().rowsRead());
+        assertEquals(source.size(), result.getProgress().rowsImported());
+        assertTrue(updates.size() >= source.size() / 100);
+        assertEquals(Files.size(file), result.getProgress().bytesRead());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < source.size(); i++) {
+            expected.add(key(source.get(i), notes.get(i)));
+        }
+        assertEquals(sorted(expected), sorted(stored(userId)));
+    }
+
+    @Test
+    void skipsAByteOrderMarkBeforeTheHeader() throws IOException {
+        String userId = TestUsers.create("csv-import-bom");
+        List<Transaction> source = TestHistory.generate(userId, START, 3, 32L);
+        Path file = write("bom.csv", source, notesOf(source), "\n", true);
+        assertEquals((byte) 0xEF, Files.readAllBytes(file)[0]);
+
+        ImportResult result = new CsvTransactionImporter(dataService).importFile(userId, file, null);
+
+        assertTrue(result.isSuccessful(), result.getErrors().toString());
+        assertEquals(3, result.getProgress().rowsRead());
+        assertEquals(3, stored(userId).size());
+    }
+
+    @Test
+    void rejectsBadRowsWithTheirLineNumbers() throws IOException {
+        String userId = TestUsers.create("csv-import-rejects");
+        Path file = directory.resolve("rejects.csv");
+        Files.writeString(file, String.join("\n",
+            HEADER,
+            "2023-01-01,EXPENSE,Food,10.50,lunch",
+            "2023-13-01,EXPENSE,Food,10.50,bad date",
+            "2023-01-02,EXPENSE,Food,7.25,\"two",
+            "lines\"",
+            "2023-01-03,EXPENSE,Food,-1.00,negative",
+            "2023-01-04,EXPENSE,Food,3.00",
+            "2023-01-05,INCOME,Salary,100.00,\"never closed",
+            "2023-01-06,EXPENSE,Food,1.00,swallowed"), StandardCharsets.UTF_8);
+
+        ImportResult result = new CsvTransactionImporter(dataService).importFile(userId, file, null);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(2, result.getProgress().rowsImported());
+        assertEquals(4, result.getProgress().rowsRejected());
+        List<String> errors = result.getErrors();
+        assertEquals(4, errors.size(), errors.toString());
+        assertTrue(errors.get(0).startsWith("Line 3: "), errors.get(0));
+        assertTrue(errors.get(1).startsWith("Line 6: "), errors.get(1));
+        assertTrue(errors.get(2).startsWith("Line 7: "), errors.get(2));
+        assertEquals("Line 8: quoted field is not closed before the end of the file", errors.get(3));
+        assertEquals(List.of("2023-01-01|EXPENSE|Food|1050|lunch", "2023-01-02|EXPENSE|Food|725|two\nlines"),
+            sorted(stored(userId)));
+    }
+
+    @Test
+    void aFailedChunkIsRolledBackWithoutTouchingTheOthers() throws IOException, SQLException {
+        String userId = TestUsers.create("csv-import-rollback");
+        List<Transaction> source = TestHistory.generate(userId, START, 35, 33L);
+        List<String> notes = notesOf(source);
+        // Longer than a TEXT column holds, so the second chunk of ten fails in the database
+        notes.set(15, "x".repeat(70_000));
+        Path file = write("rollback.csv", source, notes, "\n", false);
+
+        ImportResult result = new CsvTransactionImporter(dataService, 10, 2).importFile(userId, file, null);
+
+        assertEquals(25, result.getProgress().rowsImported());
+        assertEquals(10, result.getProgress().rowsFailed());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Batch of 10 rows failed: "), result.getErrors().get(0));
+
+        List<String> expected = new ArrayList<>();
+        Map<String, Double> expectedSpending = new HashMap<>();
+        for (int i = 0; i < source.size(); i++) {
+            if (i >= 10 && i < 20) {
+                continue;
+            }
+            Transaction transaction = source.get(i);
+            expected.add(key(transaction, notes.get(i)));
+            if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+                expectedSpending.merge(transaction.getCategory(), transaction.getAmount(), Double::sum);
+            }
+        }
+        assertEquals(sorted(expected), sorted(stored(userId)));
+
+        // The rollup only counts the chunks that were committed
+        Map<String, Double> spending;
+        try (PooledConnection conn = DatabaseManager.getInstance().getConnection()) {
+            spending = MonthlyRollup.read(conn, userId).categorySpending();
+        }
+        assertEquals(expectedSpending.keySet(), spending.keySet());
+        expectedSpending.forEach((category, total) -> assertEquals(total, spending.get(category), 0.001, category));
+    }
+
+    private Path write(String name, List<Transaction> transactions, List<String> notes, String newline,
+                       boolean byteOrderMark) throws IOException {
+        StringBuilder csv = new StringBuilder(byteOrderMark ? "\uFEFF" : "").append(HEADER).append(newline);
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            String note = notes.get(i);
+            csv.append(transaction.getDate()).append(',')
+                .append(transaction.getType()).append(',')
+                .append(transaction.getCategory()).append(',')
+                .append(String.format(Locale.ROOT, "%.2f", transaction.getAmount())).append(',')
+                .append(note == null ? "" : '"' + note.replace("\"", "\"\"") + '"')
+                .append(newline);
+        }
+        Path file = directory.resolve(name);
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<String> notesOf(List<Transaction> transactions) {
+        List<String> notes = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            notes.add(transaction.getNotes());
+        }
+        return notes;
+    }
+
+    private static List<String> stored(String userId) {
+        List<String> keys = new ArrayList<>();
+        for (Transaction transaction : dataService.getTransactionsForUser(userId)) {
+            keys.add(key(transaction, transaction.getNotes()));
+        }
+        return keys;
+    }
+
+    private static String key(Transaction transaction, String notes) {
+        return transaction.getDate() + "|" + transaction.getType() + "|" + transaction.getCategory() + "|"
+            + ColumnarLedger.toCents(transaction.getAmount()) + "|" + notes;
+    }
+
+    private static List<String> sorted(List<String> keys) {
+        List<String> copy = new ArrayList<>(keys);
+        copy.sort(null);
+        return copy;
+    }
+}
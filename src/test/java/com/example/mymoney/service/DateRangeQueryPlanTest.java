@@ -0,0 +1,147 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.DatabaseManager;
+import com.example.mymoney.database.EmbeddedDatabase;
+import com.example.mymoney.database.PooledConnection;
+import com.example.mymoney.model.DateRange;
+import com.example.mymoney.model.Transaction;
+import com.example.mymoney.model.TransactionSort;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAINs the period, paging and sorting queries against a few users' worth of synthetic
+ * history to check that every period is an index range scan rather than a scan of the user's
+ * history, and that pages and top-N lists are read in index order without a sort.
+ */
+class DateRangeQueryPlanTest {
+    private static final int USERS = 4;
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final int YEARS = 10;
+    private static final DateRange WEEK = DateRange.ofWeek(LocalDate.of(2020, 6, 10));
+    private static final DateRange QUARTER = DateRange.ofQuarter(2020, 2);
+
+    private static DataService dataService;
+    private static String userId;
+    private static List<Transaction> history;
+
+    @BeforeAll
+    static void loadHistory() throws SQLException {
+        EmbeddedDatabase.start();
+        dataService = DataService.getInstance();
+
+        for (int i = 0; i < USERS; i++) {
+            String id = TestUsers.create("query-plan-" + i);
+            List<Transaction> transactions = TestHistory.years(id, START, YEARS, 7L + i);
+            assertTrue(dataService.addTransactions(transactions).isSuccessful());
+            if (i == 0) {
+                userId = id;
+                history = transactions;
+            }
+        }
+
+        try (PooledConnection conn = DatabaseManager.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE TABLE transactions, monthly_rollup");
+        }
+    }
+
+    @Test
+    void partialPeriodsAreRangeScansOnTypeDateIndex() throws SQLException {
+        for (String sql : List.of(DataService.EXPENSE_TOTAL_RANGE_SQL, DataService.CATEGORY_SPENDING_RANGE_SQL)) {
+            assertRangeScan(explain(sql, userId, WEEK.start(), WEEK.end()), "transactions", "idx_user_type_date");
+        }
+        assertRangeScan(explain(DataService.MONTHLY_TOTALS_RANGE_SQL, userId, "EXPENSE", WEEK.start(), WEEK.end()),
+            "transactions", "idx_user_type_date");
+
+        assertEquals(expectedExpenses(WEEK), dataService.getTotalExpenses(userId, WEEK), 0.005);
+    }
+
+    @Test
+    void wholeMonthPeriodsAreRangeScansOnRollup() throws SQLException {
+        for (String sql : List.of(DataService.EXPENSE_TOTAL_ROLLUP_SQL, DataService.CATEGORY_SPENDING_ROLLUP_SQL)) {
+            assertRangeScan(explain(sql, userId, QUARTER.start(), QUARTER.end()), "monthly_rollup", "PRIMARY");
+        }
+
+        assertEquals(expectedExpenses(QUARTER), dataService.getTotalExpenses(userId, QUARTER), 0.005);
+    }
+
+    @Test
+    void pagesReadTheKeysetIndexWithoutSorting() throws SQLException {
+        Map<String, String> first = explain(DataService.FIRST_PAGE_SQL, userId, 51);
+        assertEquals("idx_user_date_created", first.get("key"));
+        assertFalse(first.get("Extra").contains("filesort"), first.toString());
+
+        LocalDate date = YearMonth.of(2020, 6).atDay(15);
+        Map<String, String> next = explain(DataService.NEXT_PAGE_SQL, userId, date, date,
+            date.atStartOfDay(), date.atStartOfDay(), "zzzz", 51);
+        assertRangeScan(next, "transactions", "idx_user_date_created");
+        assertFalse(next.get("Extra").contains("filesort"), next.toString());
+    }
+
+    @Test
+    void limitedSortsReadTheirIndexWithoutSorting() throws SQLException {
+        Map<TransactionSort, String> indexes = Map.of(
+            TransactionSort.DATE_DESC, "idx_user_date_created",
+            TransactionSort.AMOUNT_DESC, "idx_user_amount",
+            TransactionSort.AMOUNT_ASC, "idx_user_amount",
+            TransactionSort.CATEGORY_ASC, "idx_user_category");
+        for (TransactionSort sort : TransactionSort.values()) {
+            Map<String, String> plan = explain(DataService.sortedQuery(sort, true), userId, 5);
+            assertEquals(indexes.get(sort), plan.get("key"), sort + ": " + plan);
+            assertFalse(plan.get("Extra").contains("filesort"), sort + ": " + plan);
+        }
+    }
+
+    private static void assertRangeScan(Map<String, String> plan, String table, String key) {
+        assertEquals(table, plan.get("table"), plan.toString());
+        assertEquals("range", plan.get("type"), plan.toString());
+        assertEquals(key, plan.get("key"), plan.toString());
+    }
+
+    private static double expectedExpenses(DateRange range) {
+        long cents = 0;
+        for (Transaction transaction : history) {
+            if (transaction.getType() == Transaction.TransactionType.EXPENSE && range.contains(transaction.getDate())) {
+                cents += Math.round(transaction.getAmount() * 100);
+            }
+        }
+        return cents / 100.0;
+    }
+
+    /**
+     * The first row of the query's plan, by column label.
+     */
+    private static Map<String, String> explain(String sql, Object... parameters) throws SQLException {
+        try (PooledConnection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.getConnection().prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                Object parameter = parameters[i];
+                stmt.setObject(i + 1, parameter instanceof LocalDate date ? java.sql.Date.valueOf(date) : parameter);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next(), "EXPLAIN returned no rows for " + sql);
+                Map<String, String> plan = new HashMap<>();
+                for (int column = 1; column <= rs.getMetaData().getColumnCount(); column++) {
+                    String value = rs.getString(column);
+                    plan.put(rs.getMetaData().getColumnLabel(column), value == null ? "" : value);
+                }
+                return plan;
+            }
+        }
+    }
+}
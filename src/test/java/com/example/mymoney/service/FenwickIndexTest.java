@@ -0,0 +1,109 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.DateRange;
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link FenwickIndex} prefix and window results against sums over every row.
+ */
+class FenwickIndexTest {
+    private static final String[] CATEGORIES = {"Food", "Rent", "Fuel", "Books"};
+    private static final LocalDate MIDDLE = LocalDate.of(2022, 1, 1);
+
+    @Test
+    void rangeTotalsMatchBruteForce() {
+        ColumnarLedger rows = ledger(4_000, 21L);
+        FenwickIndex index = index(rows);
+
+        Random random = new Random(22L);
+        for (int i = 0; i < 300; i++) {
+            LocalDate a = MIDDLE.plusDays(random.nextInt(2_400) - 1_200);
+            LocalDate b = a.plusDays(random.nextInt(400));
+            DateRange range = DateRange.of(a, b);
+            for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+                assertEquals(total(rows, type, null, range), index.total(type, null, range), range + " " + type);
+
+                Map<String, Long> expected = new HashMap<>();
+                for (String category : CATEGORIES) {
+                    long total = total(rows, type, category, range);
+                    assertEquals(total, index.total(type, category, range), range + " " + type + " " + category);
+                    if (total != 0) {
+                        expected.put(category, total);
+                    }
+                }
+                assertEquals(expected, index.totalsByCategory(type, range), range + " " + type);
+            }
+        }
+        DateRange beforeEverything = DateRange.of(MIDDLE.minusYears(50), MIDDLE.minusYears(49));
+        assertEquals(0, index.total(Transaction.TransactionType.EXPENSE, null, beforeEverything));
+        assertEquals(0, index.total(Transaction.TransactionType.EXPENSE, "Unknown", DateRange.ofDay(MIDDLE)));
+    }
+
+    @Test
+    void windowMaximumMatchesBruteForce() {
+        ColumnarLedger rows = ledger(2_000, 23L);
+        FenwickIndex index = index(rows);
+
+        long[] daily = new long[2_400];
+        int first = (int) MIDDLE.minusDays(1_200).toEpochDay();
+        for (int doc = 0; doc < rows.size(); doc++) {
+            if (rows.type(doc) == Transaction.TransactionType.EXPENSE) {
+                daily[rows.epochDay(doc) - first] += rows.amountCents(doc);
+            }
+        }
+        for (int days : new int[] {1, 7, 30, 365}) {
+            long expected = 0;
+            for (int end = 0; end < daily.length; end++) {
+                long sum = 0;
+                for (int day = Math.max(0, end - days + 1); day <= end; day++) {
+                    sum += daily[day];
+                }
+                expected = Math.max(expected, sum);
+            }
+            assertEquals(expected, index.maxWindow(Transaction.TransactionType.EXPENSE, days), days + " days");
+        }
+    }
+
+    private static long total(ColumnarLedger rows, Transaction.TransactionType type, String category, DateRange range) {
+        long sum = 0;
+        for (int doc = 0; doc < rows.size(); doc++) {
+            LocalDate date = LocalDate.ofEpochDay(rows.epochDay(doc));
+            if (rows.type(doc) == type && range.contains(date)
+                && (category == null || category.equals(rows.category(doc)))) {
+                sum += rows.amountCents(doc);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Dates arrive in random order around {@code MIDDLE}, so every series grows at both ends.
+     */
+    private static ColumnarLedger ledger(int size, long seed) {
+        Random random = new Random(seed);
+        ColumnarLedger rows = new ColumnarLedger("fenwick-test");
+        for (int i = 0; i < size; i++) {
+            rows.add(new Transaction("fenwick-test",
+                random.nextInt(5) == 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                (1 + random.nextInt(100_000)) / 100.0, CATEGORIES[random.nextInt(CATEGORIES.length)], null,
+                MIDDLE.plusDays(random.nextInt(2_400) - 1_200)));
+        }
+        return rows;
+    }
+
+    private static FenwickIndex index(ColumnarLedger rows) {
+        FenwickIndex index = new FenwickIndex(rows);
+        for (int docId = 0; docId < rows.size(); docId++) {
+            index.add(docId);
+        }
+        return index;
+    }
+}
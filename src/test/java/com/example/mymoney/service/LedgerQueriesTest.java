@@ -0,0 +1,104 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.EmbeddedDatabase;
+import com.example.mymoney.model.DateRange;
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The per-user in-memory ledger, loaded from an embedded MariaDB, against the list-based
+ * versions of the same queries over the rows that were stored.
+ */
+class LedgerQueriesTest {
+    private static DataService dataService;
+    private static String userId;
+    private static List<Transaction> history;
+
+    @BeforeAll
+    static void loadHistory() {
+        EmbeddedDatabase.start();
+        dataService = DataService.getInstance();
+        userId = TestUsers.create("ledger-queries");
+
+        history = new ArrayList<>(TestHistory.generate(userId, LocalDate.of(2021, 1, 1), 3_000, 13L));
+        // A few rows before and after the bulk, inserted last, so day-indexed structures grow at both ends
+        history.addAll(TestHistory.generate(userId, LocalDate.of(2019, 3, 1), 40, 14L));
+        history.addAll(TestHistory.generate(userId, LocalDate.of(2024, 8, 1), 40, 15L));
+        assertTrue(dataService.addTransactions(history).isSuccessful());
+    }
+
+    @Test
+    void spendingGraphFromTheLedgerMatchesTheListVersion() {
+        Map<String, Set<String>> expected = asSets(DataService.buildSpendingGraph(history));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, asSets(dataService.buildSpendingGraph(userId)));
+    }
+
+    @Test
+    void rangeTotalsMatchSumsOverTheStoredRows() {
+        List<DateRange> ranges = List.of(
+            DateRange.ofWeek(LocalDate.of(2021, 9, 15)),
+            DateRange.ofMonth(YearMonth.of(2022, 2)),
+            DateRange.of(LocalDate.of(2019, 3, 10), LocalDate.of(2024, 8, 5)),
+            DateRange.ofYear(2030));
+        for (DateRange range : ranges) {
+            Map<String, Long> byCategory = new HashMap<>();
+            long expenses = 0;
+            long income = 0;
+            for (Transaction transaction : history) {
+                if (!range.contains(transaction.getDate())) {
+                    continue;
+                }
+                long cents = ColumnarLedger.toCents(transaction.getAmount());
+                if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+                    expenses += cents;
+                    byCategory.merge(transaction.getCategory(), cents, Long::sum);
+                } else {
+                    income += cents;
+                }
+            }
+
+            assertEquals(expenses / 100.0, dataService.getSpendingBetween(userId, range), 0.001, range.toString());
+            assertEquals(income / 100.0, dataService.getTotalBetween(userId, Transaction.TransactionType.INCOME, null, range),
+                0.001, range.toString());
+            Map<String, Double> expected = new HashMap<>();
+            byCategory.forEach((category, cents) -> expected.put(category, cents / 100.0));
+            assertEquals(expected, dataService.getCategorySpendingBetween(userId, range), range.toString());
+            expected.forEach((category, total) -> assertEquals(total,
+                dataService.getTotalBetween(userId, Transaction.TransactionType.EXPENSE, category, range), 0.001));
+        }
+    }
+
+    @Test
+    void windowMaximumMatchesTheListVersion() {
+        for (int windowDays : new int[] {0, 6, 29}) {
+            assertEquals(DataService.findMaxSpendingInWindow(history, windowDays),
+                dataService.getMaxSpendingInWindow(userId, windowDays), 0.001, windowDays + " days");
+        }
+    }
+
+    private static Map<String, Set<String>> asSets(Map<String, List<String>> graph) {
+        Map<String, Set<String>> sets = new TreeMap<>();
+        graph.forEach((category, neighbours) -> {
+            Set<String> unique = new HashSet<>(neighbours);
+            assertEquals(neighbours.size(), unique.size(), category + " lists a neighbour twice");
+            sets.put(category, unique);
+        });
+        return sets;
+    }
+}
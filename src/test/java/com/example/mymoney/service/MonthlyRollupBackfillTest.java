@@ -0,0 +1,73 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.database.DatabaseManager;
+import com.example.mymoney.database.EmbeddedDatabase;
+import com.example.mymoney.database.PooledConnection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Start-up backfill of {@code monthly_rollup} for a user whose rollup rows are missing while
+ * other users' rows are in place.
+ */
+class MonthlyRollupBackfillTest {
+    private static DataService dataService;
+    private static String keptUser;
+    private static String droppedUser;
+
+    @BeforeAll
+    static void loadHistory() {
+        EmbeddedDatabase.start();
+        dataService = DataService.getInstance();
+        keptUser = TestUsers.create("rollup-backfill-kept");
+        droppedUser = TestUsers.create("rollup-backfill-dropped");
+        assertTrue(dataService.addTransactions(TestHistory.generate(keptUser, LocalDate.of(2022, 1, 1), 500, 21L)).isSuccessful());
+        assertTrue(dataService.addTransactions(TestHistory.generate(droppedUser, LocalDate.of(2022, 1, 1), 500, 22L)).isSuccessful());
+    }
+
+    @Test
+    void backfillRebuildsOnlyTheUsersWithoutRollupRows() throws SQLException {
+        MonthlyRollup.Summary kept = read(keptUser);
+        MonthlyRollup.Summary dropped = read(droppedUser);
+        assertFalse(dropped.categorySpending().isEmpty());
+
+        try (PooledConnection conn = DatabaseManager.getInstance().getConnection()) {
+            PreparedStatement delete = conn.prepareStatement("DELETE FROM monthly_rollup WHERE user_id = ?");
+            delete.setString(1, droppedUser);
+            delete.executeUpdate();
+
+            List<String> pending = MonthlyRollup.usersNeedingBackfill(conn);
+            assertTrue(pending.contains(droppedUser));
+            assertFalse(pending.contains(keptUser));
+        }
+
+        dataService.backfillMonthlyRollup();
+
+        assertSameTotals(dropped, read(droppedUser));
+        assertSameTotals(kept, read(keptUser));
+        try (PooledConnection conn = DatabaseManager.getInstance().getConnection()) {
+            assertFalse(MonthlyRollup.usersNeedingBackfill(conn).contains(droppedUser));
+        }
+    }
+
+    private static MonthlyRollup.Summary read(String userId) throws SQLException {
+        try (PooledConnection conn = DatabaseManager.getInstance().getConnection()) {
+            return MonthlyRollup.read(conn, userId);
+        }
+    }
+
+    private static void assertSameTotals(MonthlyRollup.Summary expected, MonthlyRollup.Summary actual) {
+        assertEquals(expected.categorySpending(), actual.categorySpending());
+        assertEquals(expected.monthlyIncome(), actual.monthlyIncome());
+        assertEquals(expected.monthlyExpenses(), actual.monthlyExpenses());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotesIndexTest {
+    private static final String[] WORDS = {"late", "night", "grab", "ride", "coffee", "very", "good", "market", "weekly"};
+
+    @Test
+    void tokenizesOnNonAlphanumericsAndFoldsCase() {
+        assertEquals(List.of("grab", "ride", "2", "airport", "café"), NotesIndex.tokenize("GRAB-ride #2 -> Airport, Café!"));
+        assertEquals(List.of(), NotesIndex.tokenize(null));
+        assertEquals(List.of(), NotesIndex.tokenize("  --  "));
+    }
+
+    @Test
+    void parsesQuotedPhrasesAndSingleTerms() {
+        assertEquals(List.of(List.of("grab"), List.of("late", "night"), List.of("ride")),
+            NotesIndex.parseQuery("Grab \"late  NIGHT\" ride"));
+        assertEquals(List.of(), NotesIndex.parseQuery(""));
+        assertEquals(List.of(), NotesIndex.parseQuery("\"\""));
+        assertEquals(List.of(), NotesIndex.parseQuery("\" \" \""));
+        assertEquals(List.of(), NotesIndex.parseQuery(null));
+    }
+
+    @Test
+    void phraseNeedsAdjacentTermsInOrder() {
+        NotesIndex index = index("late night ride", "night ride, late", "late for the night", "LATE Night snack");
+
+        assertArrayEquals(new int[] {0, 1, 2, 3}, index.search("late night"));
+        assertArrayEquals(new int[] {0, 3}, index.search("\"late night\""));
+        assertArrayEquals(new int[] {0, 1}, index.search("\"night ride\""));
+        assertArrayEquals(new int[] {3}, index.search("\"Late NIGHT\" snack"));
+    }
+
+    @Test
+    void repeatedTermsInAPhraseMustRepeatInTheNote() {
+        NotesIndex index = index("very good", "very very good", "good very very", "very good very");
+
+        assertArrayEquals(new int[] {1}, index.search("\"very very good\""));
+        assertArrayEquals(new int[] {1, 2}, index.search("\"very very\""));
+        assertArrayEquals(new int[] {0, 1, 3}, index.search("\"very good\""));
+    }
+
+    @Test
+    void emptyAndQuoteOnlyQueriesMatchNothing() {
+        NotesIndex index = index("coffee", "grab ride");
+
+        assertArrayEquals(new int[0], index.search(""));
+        assertArrayEquals(new int[0], index.search("   "));
+        assertArrayEquals(new int[0], index.search("\"\""));
+        assertArrayEquals(new int[0], index.search("\""));
+        assertArrayEquals(new int[0], index.search("coffee unknownword"));
+    }
+
+    @Test
+    void searchMatchesANaiveScan() {
+        Random random = new Random(31L);
+        List<String> notes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int length = random.nextInt(6);
+            StringBuilder note = new StringBuilder();
+            for (int w = 0; w < length; w++) {
+                // Skewed choice, so some terms are rare and intersections gallop over long lists
+                String word = WORDS[Math.min(random.nextInt(WORDS.length), random.nextInt(WORDS.length))];
+                note.append(random.nextBoolean() ? word.toUpperCase() : word).append(random.nextBoolean() ? " " : ", ");
+            }
+            notes.add(length == 0 && random.nextBoolean() ? null : note.toString());
+        }
+        NotesIndex index = index(notes.toArray(new String[0]));
+
+        for (int q = 0; q < 300; q++) {
+            String first = WORDS[random.nextInt(WORDS.length)];
+            String second = WORDS[random.nextInt(WORDS.length)];
+            String query = random.nextBoolean() ? first + " " + second : "\"" + first + " " + second + "\"";
+            List<List<String>> phrases = NotesIndex.parseQuery(query);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int doc = 0; doc < notes.size(); doc++) {
+                String tokens = " " + String.join(" ", NotesIndex.tokenize(notes.get(doc))) + " ";
+                boolean all = true;
+                for (List<String> phrase : phrases) {
+                    all &= tokens.contains(" " + String.join(" ", phrase) + " ");
+                }
+                if (all) {
+                    expected.add(doc);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), index.search(query), query);
+        }
+    }
+
+    @Test
+    void gallopingIntersectMatchesASetIntersection() {
+        Random random = new Random(37L);
+        for (int round = 0; round < 200; round++) {
+            TreeSet<Integer> small = new TreeSet<>();
+            TreeSet<Integer> large = new TreeSet<>();
+            int range = 1 + random.nextInt(5_000);
+            int smallSize = random.nextInt(20);
+            int largeSize = random.nextInt(Math.min(range, 3_000));
+            while (small.size() < Math.min(smallSize, range)) {
+                small.add(random.nextInt(range));
+            }
+            while (large.size() < largeSize) {
+                large.add(random.nextInt(range));
+            }
+            IntList docs = new IntList();
+            large.forEach(docs::add);
+
+            TreeSet<Integer> expected = new TreeSet<>(small);
+            expected.retainAll(large);
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+                NotesIndex.intersect(small.stream().mapToInt(Integer::intValue).toArray(), docs));
+        }
+        assertArrayEquals(new int[0], NotesIndex.intersect(new int[] {1, 2}, new IntList()));
+    }
+
+    private static NotesIndex index(String... notes) {
+        ColumnarLedger rows = new ColumnarLedger("notes-test");
+        NotesIndex index = new NotesIndex(rows);
+        for (String note : notes) {
+            index.add(rows.add(new Transaction("notes-test", Transaction.TransactionType.EXPENSE, 1.0, "Food", note,
+                LocalDate.of(2024, 1, 1))));
+        }
+        return index;
+    }
+}
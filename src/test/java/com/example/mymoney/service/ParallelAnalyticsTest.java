@@ -0,0 +1,141 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every aggregator below and above {@link ParallelAnalytics#SEQUENTIAL_THRESHOLD}, against a
+ * plain sequential loop over the same rows.
+ */
+class ParallelAnalyticsTest {
+    private static final int[] SIZES = {
+        100, ParallelAnalytics.SEQUENTIAL_THRESHOLD, ParallelAnalytics.SEQUENTIAL_THRESHOLD * 5 + 17
+    };
+
+    @Test
+    void categoryTotals() {
+        for (int size : SIZES) {
+            List<Transaction> rows = rows(size);
+            for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+                Map<String, Double> expected = new HashMap<>();
+                for (Transaction transaction : rows) {
+                    if (transaction.getType() == type) {
+                        expected.merge(transaction.getCategory(), transaction.getAmount(), Double::sum);
+                    }
+                }
+                Map<String, Double> totals = ParallelAnalytics.run(rows, new ParallelAnalytics.CategoryTotals(type));
+                assertEquals(expected.keySet(), totals.keySet(), size + " " + type);
+                expected.forEach((category, total) ->
+                    assertEquals(total, totals.get(category), 1e-6 * Math.max(1, total), size + " " + category));
+            }
+        }
+    }
+
+    @Test
+    void topK() {
+        for (int size : SIZES) {
+            List<Transaction> rows = rows(size);
+            for (boolean highest : new boolean[] {true, false}) {
+                Comparator<Transaction> bestFirst = Comparator.comparingDouble(Transaction::getAmount);
+                List<Transaction> sorted = new ArrayList<>(rows);
+                sorted.sort(highest ? bestFirst.reversed() : bestFirst);
+                for (int k : new int[] {0, 1, 10, 500}) {
+                    List<Double> expected = sorted.stream().limit(k).map(Transaction::getAmount).toList();
+                    List<Double> top = ParallelAnalytics.run(rows, new ParallelAnalytics.TopK(k, highest))
+                        .stream().map(Transaction::getAmount).toList();
+                    assertEquals(expected, top, size + " rows, k " + k + ", highest " + highest);
+                }
+            }
+        }
+    }
+
+    @Test
+    void windowMax() {
+        for (int size : SIZES) {
+            List<Transaction> rows = rows(size);
+            Map<Long, Double> daily = new TreeMap<>();
+            for (Transaction transaction : rows) {
+                if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+                    daily.merge(transaction.getDate().toEpochDay(), transaction.getAmount(), Double::sum);
+                }
+            }
+            for (int window : new int[] {0, 6, 30}) {
+                double expected = 0;
+                for (long end : daily.keySet()) {
+                    double sum = 0;
+                    for (long day = end - window; day <= end; day++) {
+                        sum += daily.getOrDefault(day, 0.0);
+                    }
+                    expected = Math.max(expected, sum);
+                }
+                assertEquals(expected, ParallelAnalytics.run(rows, new ParallelAnalytics.WindowMax(window)),
+                    1e-6 * expected, size + " rows, window " + window);
+            }
+        }
+    }
+
+    @Test
+    void coOccurrence() {
+        for (int size : SIZES) {
+            List<Transaction> rows = rows(size);
+            Map<LocalDate, List<String>> byDay = new HashMap<>();
+            for (Transaction transaction : rows) {
+                byDay.computeIfAbsent(transaction.getDate(), d -> new ArrayList<>()).add(transaction.getCategory());
+            }
+            Map<String, Set<String>> expected = new TreeMap<>();
+            for (List<String> categories : byDay.values()) {
+                if (categories.size() < 2) {
+                    continue;
+                }
+                for (String category : categories) {
+                    Set<String> neighbours = expected.computeIfAbsent(category, c -> new HashSet<>());
+                    for (String other : categories) {
+                        if (!other.equals(category)) {
+                            neighbours.add(other);
+                        }
+                    }
+                }
+            }
+
+            Map<String, Set<String>> graph = new TreeMap<>();
+            ParallelAnalytics.run(rows, new ParallelAnalytics.CoOccurrence())
+                .forEach((category, neighbours) -> graph.put(category, new HashSet<>(neighbours)));
+            assertEquals(expected, graph, size + " rows");
+        }
+    }
+
+    /**
+     * Rows over a span short enough that days repeat and long enough that many have one row,
+     * shuffled so splits do not line up with dates.
+     */
+    private static List<Transaction> rows(int size) {
+        Random random = new Random(size);
+        String[] categories = {"Food", "Rent", "Fuel", "Books", "Gifts", "Pets", "Salary"};
+        List<Transaction> rows = new ArrayList<>(size);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < size; i++) {
+            boolean income = random.nextInt(6) == 0;
+            rows.add(new Transaction("parallel-analytics-test",
+                income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                (1 + random.nextInt(1_000_000)) / 100.0,
+                categories[random.nextInt(categories.length)], null,
+                start.plusDays(random.nextInt(Math.max(10, size)))));
+        }
+        Collections.shuffle(rows, random);
+        return rows;
+    }
+}
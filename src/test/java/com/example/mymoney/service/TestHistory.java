@@ -0,0 +1,44 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded pseudo-random transactions for database-backed tests: four a day from {@code start},
+ * mostly expenses across a handful of categories.
+ */
+final class TestHistory {
+    private static final String[] CATEGORIES = {"Food", "Transportation", "Shopping", "Bills", "Entertainment"};
+    private static final int ROWS_PER_DAY = 4;
+
+    private TestHistory() {
+    }
+
+    static List<Transaction> generate(String userId, LocalDate start, int rows, long seed) {
+        Random random = new Random(seed);
+        List<Transaction> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean income = random.nextInt(10) == 0;
+            double amount = (income ? 20_000 + random.nextInt(3_000_000) : 50 + random.nextInt(500_000)) / 100.0;
+            transactions.add(new Transaction(userId,
+                income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                amount,
+                income ? "Salary" : CATEGORIES[random.nextInt(CATEGORIES.length)],
+                random.nextBoolean() ? "synthetic row " + i : null,
+                start.plusDays(i / ROWS_PER_DAY)));
+        }
+        return transactions;
+    }
+
+    /**
+     * Rows covering {@code years} years from {@code start}.
+     */
+    static List<Transaction> years(String userId, LocalDate start, int years, long seed) {
+        int days = (int) (start.plusYears(years).toEpochDay() - start.toEpochDay());
+        return generate(userId, start, days * ROWS_PER_DAY, seed);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.mymoney.service;
+
+/**
+ * Registers users for database-backed tests. Usernames must be unique per test JVM.
+ */
+final class TestUsers {
+    private static final String PASSWORD = "test-password";
+
+    private TestUsers() {
+    }
+
+    static String create(String username) {
+        AuthenticationService auth = AuthenticationService.getInstance();
+        if (!auth.register(username, PASSWORD) || !auth.login(username, PASSWORD)) {
+            throw new IllegalStateException("Could not register test user " + username);
+        }
+        String userId = auth.getCurrentUser().getId();
+        auth.logout();
+        return userId;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.mymoney.service;
+
+import com.example.mymoney.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+    private static final String ALPHABET = "abcdeéñ ";
+    private static final String[] CATEGORIES = {"Food", "Pharmacy", "Transportation", "Café"};
+    private static final String[] NOTES = {
+        "weekly market run", "PHARMACY refill", "grab to airport", "late night ride", "café con leche",
+        "market snacks", null, "Bus fare", "airport parking", "pharmacist tip"
+    };
+
+    @Test
+    void substringSearchMatchesContains() {
+        List<String> texts = new ArrayList<>();
+        TrigramIndex index = index(texts, 1_000, 41L);
+
+        Random random = new Random(42L);
+        for (int q = 0; q < 400; q++) {
+            String source = texts.get(random.nextInt(texts.size()));
+            int length = 1 + random.nextInt(6);
+            int start = random.nextInt(Math.max(1, source.length() - length));
+            String fragment = source.substring(start, Math.min(source.length(), start + length));
+            if (random.nextBoolean()) {
+                fragment = fragment.toUpperCase(Locale.ROOT);
+            }
+            assertArrayEquals(naiveContains(texts, fragment.toLowerCase(Locale.ROOT)), index.searchSubstring(fragment), fragment);
+        }
+        assertArrayEquals(new int[0], index.searchSubstring(""));
+        assertArrayEquals(new int[0], index.searchSubstring("zzz"));
+    }
+
+    @Test
+    void bitPatternAgreesWithTheDynamicProgram() {
+        Random random = new Random(43L);
+        for (int round = 0; round < 5_000; round++) {
+            String pattern = randomText(random, 1 + random.nextInt(random.nextInt(10) == 0 ? 64 : 12));
+            String text = randomText(random, random.nextInt(40));
+            int expected = TrigramIndex.substringEditDistance(pattern, text);
+            assertEquals(expected, new TrigramIndex.BitPattern(pattern).substringEditDistance(text), pattern + " in " + text);
+            if (pattern.length() <= 5 && text.length() <= 8) {
+                assertEquals(bruteForceSubstringDistance(pattern, text), expected, pattern + " in " + text);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TrigramIndex.BitPattern(""));
+        assertThrows(IllegalArgumentException.class, () -> new TrigramIndex.BitPattern("x".repeat(65)));
+    }
+
+    @Test
+    void fuzzySearchFindsEveryMatchWhenTheQGramBoundIsPositive() {
+        List<String> texts = new ArrayList<>();
+        TrigramIndex index = index(texts, 1_000, 44L);
+
+        for (String query : new String[] {"pharmcy refill", "weekly markte", "airprot parking", "late nihgt ride"}) {
+            for (int maxEdits = 0; maxEdits <= 3; maxEdits++) {
+                // Only while (n - 2) - 3k > 0 is the trigram count guaranteed not to drop a match
+                if (query.length() - 2 - 3 * maxEdits <= 0) {
+                    continue;
+                }
+                List<Integer> expected = new ArrayList<>();
+                for (int docId = texts.size() - 1; docId >= 0; docId--) {
+                    if (TrigramIndex.substringEditDistance(query, texts.get(docId)) <= maxEdits) {
+                        expected.add(docId);
+                    }
+                }
+                List<Integer> found = new ArrayList<>();
+                for (TrigramIndex.Match match : index.searchFuzzy(query, maxEdits, Integer.MAX_VALUE)) {
+                    assertEquals(TrigramIndex.substringEditDistance(query, texts.get(match.docId())), match.distance());
+                    found.add(match.docId());
+                }
+                found.sort((a, b) -> b - a);
+                assertEquals(expected, found, query + " within " + maxEdits);
+            }
+        }
+    }
+
+    @Test
+    void fuzzyResultsAreClosestFirstAndLimited() {
+        List<String> texts = new ArrayList<>();
+        TrigramIndex index = index(texts, 500, 45L);
+
+        List<TrigramIndex.Match> matches = index.searchFuzzy("PHARMCY", 2, 20);
+        assertEquals(20, matches.size());
+        for (int i = 1; i < matches.size(); i++) {
+            TrigramIndex.Match previous = matches.get(i - 1);
+            TrigramIndex.Match current = matches.get(i);
+            assertTrue(previous.distance() < current.distance()
+                || (previous.distance() == current.distance() && previous.docId() > current.docId()));
+        }
+        assertEquals(0, index.searchFuzzy("ph", 1, 10).get(0).distance());
+    }
+
+    private static int[] naiveContains(List<String> texts, String fragment) {
+        List<Integer> docs = new ArrayList<>();
+        for (int docId = 0; docId < texts.size(); docId++) {
+            if (!fragment.isEmpty() && texts.get(docId).contains(fragment)) {
+                docs.add(docId);
+            }
+        }
+        return docs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int bruteForceSubstringDistance(String pattern, String text) {
+        int best = pattern.length();
+        for (int from = 0; from <= text.length(); from++) {
+            for (int to = from; to <= text.length(); to++) {
+                best = Math.min(best, levenshtein(pattern, text.substring(from, to)));
+            }
+        }
+        return best;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                d[i][j] = i == 0 ? j : j == 0 ? i : Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1),
+                    d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Indexes {@code size} rows and records each row's searchable text, folded the way the
+     * index folds it, in {@code texts}.
+     */
+    private static TrigramIndex index(List<String> texts, int size, long seed) {
+        Random random = new Random(seed);
+        ColumnarLedger rows = new ColumnarLedger("trigram-test");
+        TrigramIndex index = new TrigramIndex(rows);
+        for (int i = 0; i < size; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String note = NOTES[random.nextInt(NOTES.length)];
+            if (note != null && random.nextBoolean()) {
+                note = note + " " + i;
+            }
+            index.add(rows.add(new Transaction("trigram-test", Transaction.TransactionType.EXPENSE, 1.0, category, note,
+                LocalDate.of(2024, 1, 1))));
+            texts.add(category.toLowerCase(Locale.ROOT) + '\n' + (note == null ? "" : note.toLowerCase(Locale.ROOT)));
+        }
+        return index;
+    }
+}